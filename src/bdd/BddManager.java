@@ -0,0 +1,471 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package bdd;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates and combines reduced ordered binary decision diagrams. A BDD is
+ * referred to by the int id of its root node. Nodes live in plain int arrays
+ * and are shared: the unique table guarantees that every combination of a
+ * variable and two children exists only once, so two BDDs stand for the same
+ * boolean function if and only if they have the same id. Results of the
+ * recursive operations are kept in a fixed size operation cache, where a new
+ * result simply overwrites whatever was in its slot.
+ *
+ * Variables are numbered from zero, and a lower number is closer to the root.
+ * Nodes are never freed; a manager is meant to be used for one computation
+ * and then dropped as a whole.
+ *
+ * @author Arjan
+ */
+public class BddManager {
+
+    /**
+     * The constant false function.
+     */
+    public static final int FALSE = 0;
+    /**
+     * The constant true function.
+     */
+    public static final int TRUE = 1;
+
+    private static final int OP_AND = 0;
+    private static final int OP_OR = 1;
+    private static final int OP_NOT = 2;
+    private static final int OP_EXISTS = 3;
+    private static final int OP_AND_EXISTS = 4;
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final int EMPTY = -1;
+
+    private final int varCount;
+    private int[] vars;
+    private int[] lows;
+    private int[] highs;
+    private int[] next;
+    private int[] buckets;
+    private int nodeCount;
+
+    private int[] cacheOps;
+    private int[] cacheArgs1;
+    private int[] cacheArgs2;
+    private int[] cacheArgs3;
+    private int[] cacheResults;
+
+    /**
+     * @param varCount The number of variables the BDDs of this manager use.
+     */
+    public BddManager(int varCount) {
+        this.varCount = varCount;
+        this.vars = new int[INITIAL_CAPACITY];
+        this.lows = new int[INITIAL_CAPACITY];
+        this.highs = new int[INITIAL_CAPACITY];
+        this.next = new int[INITIAL_CAPACITY];
+        this.buckets = new int[INITIAL_CAPACITY];
+        Arrays.fill(buckets, EMPTY);
+        vars[FALSE] = varCount;
+        vars[TRUE] = varCount;
+        nodeCount = 2;
+        allocateCache(INITIAL_CAPACITY);
+    }
+
+    public int getVarCount() {
+        return varCount;
+    }
+
+    /**
+     * @return The number of nodes created so far, including the two
+     * terminals.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * @param var A variable.
+     * @return The function that is true if the variable is true.
+     */
+    public int ithVar(int var) {
+        return makeNode(var, FALSE, TRUE);
+    }
+
+    /**
+     * @param var A variable.
+     * @return The function that is true if the variable is false.
+     */
+    public int nithVar(int var) {
+        return makeNode(var, TRUE, FALSE);
+    }
+
+    /**
+     * @param vars Any number of variables.
+     * @return The conjunction of the given variables, as used by
+     * {@link #exists} and {@link #andExists}.
+     */
+    public int cube(int... vars) {
+        final int[] sorted = vars.clone();
+        Arrays.sort(sorted);
+        int result = TRUE;
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            if (i == sorted.length - 1 || sorted[i] != sorted[i + 1]) {
+                result = makeNode(sorted[i], FALSE, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param node A BDD.
+     * @return The variable tested at the root, or the variable count for a
+     * terminal.
+     */
+    public int getVar(int node) {
+        return vars[node];
+    }
+
+    public int getLow(int node) {
+        return lows[node];
+    }
+
+    public int getHigh(int node) {
+        return highs[node];
+    }
+
+    /**
+     * Looks up the node with the given variable and children in the unique
+     * table, creating it if it doesn't exist yet. A node whose children are
+     * equal is not needed and never created.
+     */
+    private int makeNode(int var, int low, int high) {
+        if (low == high) {
+            return low;
+        }
+        int node = buckets[hashNode(var, low, high) & (buckets.length - 1)];
+        while (node != EMPTY) {
+            if (vars[node] == var && lows[node] == low && highs[node] == high) {
+                return node;
+            }
+            node = next[node];
+        }
+        if (nodeCount == vars.length) {
+            grow();
+        }
+        node = nodeCount++;
+        vars[node] = var;
+        lows[node] = low;
+        highs[node] = high;
+        final int bucket = hashNode(var, low, high) & (buckets.length - 1);
+        next[node] = buckets[bucket];
+        buckets[bucket] = node;
+        return node;
+    }
+
+    /**
+     * Doubles the node arrays and the unique table, and the operation cache
+     * with them so that it keeps up with the size of the BDDs.
+     */
+    private void grow() {
+        final int capacity = vars.length * 2;
+        vars = Arrays.copyOf(vars, capacity);
+        lows = Arrays.copyOf(lows, capacity);
+        highs = Arrays.copyOf(highs, capacity);
+        next = Arrays.copyOf(next, capacity);
+        buckets = new int[capacity];
+        Arrays.fill(buckets, EMPTY);
+        for (int node = 2; node < nodeCount; node++) {
+            final int bucket = hashNode(vars[node], lows[node], highs[node]) & (capacity - 1);
+            next[node] = buckets[bucket];
+            buckets[bucket] = node;
+        }
+        allocateCache(capacity);
+    }
+
+    private void allocateCache(int size) {
+        cacheOps = new int[size];
+        Arrays.fill(cacheOps, EMPTY);
+        cacheArgs1 = new int[size];
+        cacheArgs2 = new int[size];
+        cacheArgs3 = new int[size];
+        cacheResults = new int[size];
+    }
+
+    private static int hashNode(int var, int low, int high) {
+        int hash = var * 0x9E3779B1 + low;
+        hash = hash * 0x85EBCA6B + high;
+        return hash ^ (hash >>> 15);
+    }
+
+    private int cacheSlot(int op, int arg1, int arg2, int arg3) {
+        int hash = op * 0x27D4EB2F + arg1;
+        hash = hash * 0x9E3779B1 + arg2;
+        hash = hash * 0x85EBCA6B + arg3;
+        return (hash ^ (hash >>> 16)) & (cacheOps.length - 1);
+    }
+
+    /**
+     * @return The cached result of the operation, or -1 if it isn't cached.
+     */
+    private int lookup(int op, int arg1, int arg2, int arg3) {
+        final int slot = cacheSlot(op, arg1, arg2, arg3);
+        if (cacheOps[slot] == op && cacheArgs1[slot] == arg1 && cacheArgs2[slot] == arg2
+                && cacheArgs3[slot] == arg3) {
+            return cacheResults[slot];
+        }
+        return EMPTY;
+    }
+
+    private int store(int op, int arg1, int arg2, int arg3, int result) {
+        final int slot = cacheSlot(op, arg1, arg2, arg3);
+        cacheOps[slot] = op;
+        cacheArgs1[slot] = arg1;
+        cacheArgs2[slot] = arg2;
+        cacheArgs3[slot] = arg3;
+        cacheResults[slot] = result;
+        return result;
+    }
+
+    public int and(int a, int b) {
+        if (a == FALSE || b == FALSE) {
+            return FALSE;
+        }
+        if (a == TRUE || a == b) {
+            return b;
+        }
+        if (b == TRUE) {
+            return a;
+        }
+        if (a > b) {
+            return and(b, a);
+        }
+        final int cached = lookup(OP_AND, a, b, 0);
+        if (cached != EMPTY) {
+            return cached;
+        }
+        final int var = Math.min(vars[a], vars[b]);
+        final int low = and(cofactor(a, var, false), cofactor(b, var, false));
+        final int high = and(cofactor(a, var, true), cofactor(b, var, true));
+        return store(OP_AND, a, b, 0, makeNode(var, low, high));
+    }
+
+    public int or(int a, int b) {
+        if (a == TRUE || b == TRUE) {
+            return TRUE;
+        }
+        if (a == FALSE || a == b) {
+            return b;
+        }
+        if (b == FALSE) {
+            return a;
+        }
+        if (a > b) {
+            return or(b, a);
+        }
+        final int cached = lookup(OP_OR, a, b, 0);
+        if (cached != EMPTY) {
+            return cached;
+        }
+        final int var = Math.min(vars[a], vars[b]);
+        final int low = or(cofactor(a, var, false), cofactor(b, var, false));
+        final int high = or(cofactor(a, var, true), cofactor(b, var, true));
+        return store(OP_OR, a, b, 0, makeNode(var, low, high));
+    }
+
+    public int not(int a) {
+        if (a == FALSE) {
+            return TRUE;
+        }
+        if (a == TRUE) {
+            return FALSE;
+        }
+        final int cached = lookup(OP_NOT, a, 0, 0);
+        if (cached != EMPTY) {
+            return cached;
+        }
+        return store(OP_NOT, a, 0, 0, makeNode(vars[a], not(lows[a]), not(highs[a])));
+    }
+
+    /**
+     * @return The given BDD with the given variable fixed to the given value,
+     * as long as the variable is not below the root.
+     */
+    private int cofactor(int node, int var, boolean value) {
+        if (vars[node] != var) {
+            return node;
+        }
+        return value ? highs[node] : lows[node];
+    }
+
+    /**
+     * Existential quantification: the function that is true for an
+     * assignment if the given function is true for that assignment with some
+     * values for the quantified variables.
+     *
+     * @param a The function.
+     * @param cube The variables to quantify, see {@link #cube}.
+     * @return The quantified function, which no longer depends on the
+     * variables of the cube.
+     */
+    public int exists(int a, int cube) {
+        if (a == FALSE || a == TRUE || cube == TRUE) {
+            return a;
+        }
+        while (cube != TRUE && vars[cube] < vars[a]) {
+            cube = highs[cube];
+        }
+        if (cube == TRUE) {
+            return a;
+        }
+        final int cached = lookup(OP_EXISTS, a, cube, 0);
+        if (cached != EMPTY) {
+            return cached;
+        }
+        final int result;
+        if (vars[cube] == vars[a]) {
+            result = or(exists(lows[a], highs[cube]), exists(highs[a], highs[cube]));
+        } else {
+            result = makeNode(vars[a], exists(lows[a], cube), exists(highs[a], cube));
+        }
+        return store(OP_EXISTS, a, cube, 0, result);
+    }
+
+    /**
+     * The relational product: {@code exists(and(a, b), cube)}, without ever
+     * building the conjunction as a whole.
+     *
+     * @param a The first function.
+     * @param b The second function.
+     * @param cube The variables to quantify, see {@link #cube}.
+     * @return The quantified conjunction.
+     */
+    public int andExists(int a, int b, int cube) {
+        if (a == FALSE || b == FALSE) {
+            return FALSE;
+        }
+        if (a == TRUE && b == TRUE) {
+            return TRUE;
+        }
+        if (cube == TRUE) {
+            return and(a, b);
+        }
+        if (a == TRUE || a == b) {
+            return exists(b, cube);
+        }
+        if (b == TRUE) {
+            return exists(a, cube);
+        }
+        if (a > b) {
+            return andExists(b, a, cube);
+        }
+        final int var = Math.min(vars[a], vars[b]);
+        while (cube != TRUE && vars[cube] < var) {
+            cube = highs[cube];
+        }
+        if (cube == TRUE) {
+            return and(a, b);
+        }
+        final int cached = lookup(OP_AND_EXISTS, a, b, cube);
+        if (cached != EMPTY) {
+            return cached;
+        }
+        final int result;
+        if (vars[cube] == var) {
+            final int low = andExists(cofactor(a, var, false), cofactor(b, var, false), highs[cube]);
+            result = low == TRUE ? TRUE
+                    : or(low, andExists(cofactor(a, var, true), cofactor(b, var, true), highs[cube]));
+        } else {
+            result = makeNode(var, andExists(cofactor(a, var, false), cofactor(b, var, false), cube),
+                    andExists(cofactor(a, var, true), cofactor(b, var, true), cube));
+        }
+        return store(OP_AND_EXISTS, a, b, cube, result);
+    }
+
+    /**
+     * Renames the variables of a BDD. The renaming must keep the order of
+     * the variables the BDD depends on, such as replacing every primed
+     * variable by the unprimed variable just above it.
+     *
+     * @param a The BDD to rename.
+     * @param renaming For every variable, the variable that replaces it.
+     * @return The renamed BDD.
+     * @throws IllegalArgumentException If the renaming changes the order of
+     * the variables of the BDD.
+     */
+    public int rename(int a, int[] renaming) {
+        return rename(a, renaming, new HashMap<>());
+    }
+
+    private int rename(int a, int[] renaming, Map<Integer, Integer> done) {
+        if (a == FALSE || a == TRUE) {
+            return a;
+        }
+        final Integer known = done.get(a);
+        if (known != null) {
+            return known;
+        }
+        final int low = rename(lows[a], renaming, done);
+        final int high = rename(highs[a], renaming, done);
+        final int var = renaming[vars[a]];
+        if (var >= vars[low] || var >= vars[high]) {
+            throw new IllegalArgumentException("Renaming variable " + vars[a] + " to " + var
+                    + " changes the variable order.");
+        }
+        final int result = makeNode(var, low, high);
+        done.put(a, result);
+        return result;
+    }
+
+    /**
+     * @param a A BDD.
+     * @return The number of assignments to all variables of this manager for
+     * which the function is true.
+     */
+    public double satCount(int a) {
+        return fractionTrue(a, new HashMap<>()) * Math.pow(2, varCount);
+    }
+
+    private double fractionTrue(int a, Map<Integer, Double> done) {
+        if (a == FALSE || a == TRUE) {
+            return a;
+        }
+        final Double known = done.get(a);
+        if (known != null) {
+            return known;
+        }
+        final double fraction = (fractionTrue(lows[a], done) + fractionTrue(highs[a], done)) / 2;
+        done.put(a, fraction);
+        return fraction;
+    }
+
+    /**
+     * Finds one assignment for which the function is true.
+     *
+     * @param a A BDD.
+     * @return For every variable 0 or 1, or -1 if its value doesn't matter.
+     * Null if the function is false.
+     */
+    public int[] anySat(int a) {
+        if (a == FALSE) {
+            return null;
+        }
+        final int[] assignment = new int[varCount];
+        Arrays.fill(assignment, -1);
+        while (a != TRUE) {
+            if (lows[a] != FALSE) {
+                assignment[vars[a]] = 0;
+                a = lows[a];
+            } else {
+                assignment[vars[a]] = 1;
+                a = highs[a];
+            }
+        }
+        return assignment;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * The input symbols used by the Transitions of an Automaton, each mapped to a
+ * dense column index. Lookups are a single array access, so compiled
+ * representations can translate input characters without boxing or hashing.
+ *
+ * @author Arjan
+ */
+public class Alphabet {
+
+    private final char minSymbol;
+    private final int[] columns;
+    private final char[] symbols;
+
+    /**
+     * Collects every single character input symbol, except epsilon, that is
+     * read by a Transition of one of the numbered States.
+     *
+     * @param numbering The States whose Transitions are inspected.
+     */
+    public Alphabet(StateNumbering numbering) {
+        char min = Character.MAX_VALUE;
+        char max = Character.MIN_VALUE;
+        for (int i = 0; i < numbering.size(); i++) {
+            final Iterator<Transition> itTrans = numbering.getState(i).getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (readsSymbol(trans)) {
+                    min = (char) Math.min(min, trans.getInputChar());
+                    max = (char) Math.max(max, trans.getInputChar());
+                }
+            }
+        }
+        this.minSymbol = min;
+        this.columns = new int[min > max ? 0 : max - min + 1];
+        Arrays.fill(columns, -1);
+        final StringBuilder found = new StringBuilder();
+        for (int i = 0; i < numbering.size(); i++) {
+            final Iterator<Transition> itTrans = numbering.getState(i).getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (readsSymbol(trans) && columns[trans.getInputChar() - min] < 0) {
+                    columns[trans.getInputChar() - min] = found.length();
+                    found.append(trans.getInputChar());
+                }
+            }
+        }
+        this.symbols = found.toString().toCharArray();
+    }
+
+    /**
+     * Checks if the given Transition consumes exactly one input symbol.
+     * Transitions with longer inputs, such as IO operations, can never be
+     * taken while parsing input.
+     *
+     * @param trans The Transition to check.
+     * @return True if the Transition reads a single, non-epsilon symbol.
+     */
+    public static boolean readsSymbol(Transition trans) {
+        return trans.getInput().length() == 1 && !trans.takesNoInput();
+    }
+
+    /**
+     * @param symbol An input character.
+     * @return The column of the given symbol, or -1 if no Transition reads it.
+     */
+    public int indexOf(char symbol) {
+        final int offset = symbol - minSymbol;
+        return offset < 0 || offset >= columns.length ? -1 : columns[offset];
+    }
+
+    /**
+     * @param column A column index.
+     * @return The symbol that belongs to the given column.
+     */
+    public char getSymbol(int column) {
+        return symbols[column];
+    }
+
+    /**
+     * @return The number of distinct symbols.
+     */
+    public int size() {
+        return symbols.length;
+    }
+
+}
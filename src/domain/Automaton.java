@@ -6,9 +6,14 @@
  */
 package domain;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
@@ -28,6 +33,8 @@ public class Automaton {
     private final Set<State> states;
     private final ObservableList<Transition> transitions = FXCollections.observableArrayList();
     private final ObservableList<State> terminators = FXCollections.observableArrayList();
+    private transient CompiledAutomaton compiled;
+    private transient Long nfaCacheBytes;
 
     /**
      * Construct a new Automaton. This always creates an Automaton with start
@@ -69,6 +76,18 @@ public class Automaton {
         this.typeProperty.set(type);
     }
 
+    /**
+     * Sets the amount of memory the cache used for parsing input with an NFA
+     * may take. When the cache is full it is flushed. A size of zero disables
+     * the cache, so every word is simulated on the NFA directly.
+     *
+     * @param bytes The approximate cache size in bytes.
+     */
+    public void setNfaCacheSize(long bytes) {
+        this.nfaCacheBytes = bytes;
+        this.compiled = null;
+    }
+
     public State getStartState() {
         return startState;
     }
@@ -142,6 +161,29 @@ public class Automaton {
         transitions.add(transition);
         transition.getSourceState().addTransition(transition);
         recalculateType();
+        structureChanged();
+        transitionsChanged();
+    }
+
+    /**
+     * Adds States, Transitions and terminators in bulk, and recalculates the
+     * Automaton once afterwards. Used by {@link AutomatonBuilder}.
+     *
+     * @param newStates The States to add.
+     * @param newTransitions Transitions between the States of the Automaton,
+     * none of which may be in it yet or occur twice.
+     * @param newTerminators States of the Automaton to make terminators.
+     */
+    void addAll(Collection<State> newStates, List<Transition> newTransitions,
+            Collection<State> newTerminators) {
+        states.addAll(newStates);
+        transitions.addAll(newTransitions);
+        newTransitions.forEach((transition) -> transition.getSourceState().addTransition(transition));
+        terminators.addAll(newTerminators);
+        newTerminators.forEach((terminator) -> terminator.setIsTerminator(true));
+        recalculateType();
+        structureChanged();
+        transitionsChanged();
     }
 
     public void removeTransition(Transition transition) {
@@ -150,6 +192,8 @@ public class Automaton {
                 findFirst().get().removeTransition(transition);
         transitions.remove(transition);
         recalculateType();
+        structureChanged();
+        transitionsChanged();
     }
 
     public boolean terminatesAt(State state) {
@@ -164,6 +208,7 @@ public class Automaton {
         final State terminator = addState(endStateName);
         terminators.add(terminator);
         terminator.setIsTerminator(true);
+        structureChanged();
     }
 
     public void removeEndState(String endStateName) {
@@ -173,6 +218,7 @@ public class Automaton {
     public void removeEndState(State state) {
         terminators.remove(state);
         state.setIsTerminator(false);
+        structureChanged();
     }
 
     private State addState(String statename) {
@@ -199,47 +245,83 @@ public class Automaton {
      * @return True if the input is accepted.
      */
     public boolean parseInput(String input) {
-        Set<Configuration> currentConfigs = new HashSet<>();
-        currentConfigs.add(new Configuration(getStartState(), "", input));
-        includeEpsilonClosure(currentConfigs);
+        return compile().accepts(input);
+    }
 
-        for (int i = 0; i < input.length(); i++) {
-            currentConfigs = consumeNextInputSymbol(currentConfigs);
-            includeEpsilonClosure(currentConfigs);
-        }
-        //todo state.terminates low prio
-        return currentConfigs.stream().anyMatch((config) -> (terminatesAt(config.getState())));
+    /**
+     * Checks a batch of words at once, spread over all cores.
+     *
+     * @param inputs The words/input strings to be checked.
+     * @return Which of the words are accepted, with throughput statistics.
+     */
+    public BatchResult parseInputs(List<String> inputs) {
+        return new BatchAcceptor(compile()).accept(inputs);
     }
 
     /**
-     * Expands the Set of given Configurations with their epsilon closure.
+     * Checks a stream of words, spread over all cores. The stream is consumed
+     * in chunks.
      *
-     * @param configs The Set<Configuration> that is to be expanded with the
-     * epsilon closure, consisting of zero or more elements.
+     * @param inputs The words/input strings to be checked.
+     * @return Which of the words are accepted, with throughput statistics.
      */
-    private void includeEpsilonClosure(Set<Configuration> configs) {
-        while (true) {
-            final Set<Configuration> nextConfigs = new HashSet<>();
-            configs.stream().forEach((config) -> nextConfigs.addAll(config.calculateEpsilonClosure()));
-            if (!configs.addAll(nextConfigs)) {
-                return;
-            }
+    public BatchResult parseInputs(Stream<String> inputs) {
+        return new BatchAcceptor(compile()).accept(inputs);
+    }
+
+    /**
+     * Checks every line of a file as a word, spread over all cores.
+     *
+     * @param file A UTF-8 text file with one word per line.
+     * @return Which of the lines are accepted, with throughput statistics.
+     * @throws IOException If the file cannot be read.
+     */
+    public BatchResult parseInputs(File file) throws IOException {
+        return new BatchAcceptor(compile()).accept(file.toPath());
+    }
+
+    /**
+     * Takes an immutable snapshot of this Automaton that is compiled for
+     * parsing input and can be shared between threads. The snapshot is cached
+     * and returned again until the structure of the Automaton changes. Editing
+     * the Automaton never affects snapshots that were already handed out.
+     *
+     * @return The compiled snapshot.
+     */
+    public CompiledAutomaton compile() {
+        if (compiled == null) {
+            compiled = new CompiledAutomaton(this,
+                    nfaCacheBytes == null ? LazyDfa.DEFAULT_CACHE_BYTES : nfaCacheBytes);
         }
+        return compiled;
     }
 
     /**
-     * Calculates the Set of Configurations obtained by making each of the given
-     * configurations consume its next input symbol. Doesn't include epsilon
-     * closure.
+     * Calculates the smallest DFA that accepts the same words as this
+     * Automaton.
      *
-     * @param configs The given starting configurations. Will not be modified.
-     * @return The Set of Configurations reachable by consuming the next input
-     * symbol.
+     * @return A new, minimal Automaton.
+     * @throws IllegalArgumentException If this Automaton is not a DFA or NFA.
+     * @see DfaMinimizer#minimize(Automaton)
+     */
+    public Automaton minimize() {
+        return DfaMinimizer.minimize(this);
+    }
+
+    /**
+     * Discards everything that was compiled from the Automaton's Transitions
+     * and terminators. Must be called after every change to either of them.
+     */
+    private void structureChanged() {
+        compiled = null;
+    }
+
+    /**
+     * Discards what the States cached about the Transitions they can reach.
+     * Must be called after every Transition that is added or removed.
      */
-    private Set<Configuration> consumeNextInputSymbol(Set<Configuration> configs) {
-        final Set<Configuration> nextConfigs = new HashSet<>();
-        configs.stream().forEach((config) -> nextConfigs.addAll(config.consumeOneSymbol()));
-        return nextConfigs;
+    private void transitionsChanged() {
+        states.forEach(State::clearCachedContingencies);
     }
 
     @Override
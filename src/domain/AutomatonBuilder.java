@@ -0,0 +1,82 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Creates an Automaton from many States and Transitions at once, for the
+ * classes that calculate a new Automaton from an existing one. The editing
+ * methods of Automaton look a State up by comparing names, check the list of
+ * Transitions for duplicates and recalculate the whole Automaton after every
+ * Transition, so building a large Automaton with them takes quadratic time.
+ * The builder finds States by name in a map, drops duplicate Transitions with
+ * a hash set, and the Automaton is recalculated once, by {@link #build}.
+ *
+ * @author Arjan
+ */
+class AutomatonBuilder {
+
+    private final String name;
+    private final State startState;
+    private final Map<String, State> states = new HashMap<>();
+    private final Set<Transition> transitions = new LinkedHashSet<>();
+    private final Set<State> terminators = new LinkedHashSet<>();
+
+    /**
+     * @param name The name of the Automaton, may be null.
+     * @param startStateName The name of its start state.
+     */
+    AutomatonBuilder(String name, String startStateName) {
+        this.name = name;
+        this.startState = new State(startStateName);
+        states.put(startStateName, startState);
+    }
+
+    /**
+     * Adds a Transition, and its States if they don't exist yet. A Transition
+     * that was added before is ignored.
+     *
+     * @param sourceStateName The source state of the transition.
+     * @param targetStateName The target state of the transition.
+     * @param input The input that is consumed.
+     * @param readFromStack The value that is popped from the stack.
+     * @param writeToStack The value that is written to the stack.
+     */
+    void addTransition(String sourceStateName, String targetStateName, String input,
+            char readFromStack, char writeToStack) {
+        transitions.add(new Transition(getState(sourceStateName), getState(targetStateName), input,
+                readFromStack, writeToStack));
+    }
+
+    /**
+     * @param endStateName The State to make a terminator, which is added if it
+     * doesn't exist yet.
+     */
+    void addEndState(String endStateName) {
+        terminators.add(getState(endStateName));
+    }
+
+    /**
+     * @return A new Automaton with everything that was added so far. The
+     * builder should not be used afterwards.
+     */
+    Automaton build() {
+        final Automaton automaton = new Automaton(name, startState);
+        automaton.addAll(states.values(), new ArrayList<>(transitions), terminators);
+        return automaton;
+    }
+
+    private State getState(String stateName) {
+        return states.computeIfAbsent(stateName, State::new);
+    }
+
+}
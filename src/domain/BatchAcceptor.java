@@ -0,0 +1,148 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+
+/**
+ * Checks large batches of words against one compiled automaton, spreading the
+ * work over all cores with fork/join. Ranges of words are split in half until
+ * they are small enough to check on one thread. Ranges always start at a
+ * multiple of 64, so every long of the result bitmap is written by exactly one
+ * task.
+ *
+ * @author Arjan
+ */
+public class BatchAcceptor {
+
+    /**
+     * The number of words read from a stream or file before they are checked.
+     */
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 10;
+
+    private final CompiledAutomaton automaton;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a BatchAcceptor that uses the common fork/join pool.
+     *
+     * @param automaton The automaton the words are checked against.
+     */
+    public BatchAcceptor(CompiledAutomaton automaton) {
+        this(automaton, ForkJoinPool.commonPool());
+    }
+
+    public BatchAcceptor(CompiledAutomaton automaton, ForkJoinPool pool) {
+        this.automaton = automaton;
+        this.pool = pool;
+    }
+
+    /**
+     * @param words The words to check.
+     * @return Which of the words are accepted.
+     */
+    public BatchResult accept(List<? extends CharSequence> words) {
+        final long start = System.nanoTime();
+        final List<? extends CharSequence> indexed = words instanceof RandomAccess ? words : new ArrayList<>(words);
+        final long[] bitmap = new long[(indexed.size() + 63) >>> 6];
+        pool.invoke(new AcceptTask(indexed, 0, indexed.size(), bitmap, 0));
+        return new BatchResult(bitmap, indexed.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Checks the words of the given stream. The stream is consumed in chunks,
+     * so it doesn't have to fit in memory as a whole.
+     *
+     * @param words The words to check.
+     * @return Which of the words are accepted, in the order of the stream.
+     */
+    public BatchResult accept(Stream<? extends CharSequence> words) {
+        final long start = System.nanoTime();
+        long[] bitmap = new long[CHUNK_SIZE >>> 6];
+        int size = 0;
+        final List<CharSequence> chunk = new ArrayList<>(CHUNK_SIZE);
+        final Iterator<? extends CharSequence> itWords = words.iterator();
+        while (itWords.hasNext()) {
+            chunk.add(itWords.next());
+            if (chunk.size() == CHUNK_SIZE || !itWords.hasNext()) {
+                if (bitmap.length < ((size + chunk.size() + 63) >>> 6)) {
+                    bitmap = Arrays.copyOf(bitmap, bitmap.length * 2);
+                }
+                pool.invoke(new AcceptTask(chunk, 0, chunk.size(), bitmap, size));
+                size += chunk.size();
+                chunk.clear();
+            }
+        }
+        return new BatchResult(Arrays.copyOf(bitmap, (size + 63) >>> 6), size, System.nanoTime() - start);
+    }
+
+    /**
+     * Checks every line of the given file as a word.
+     *
+     * @param file A UTF-8 text file with one word per line.
+     * @return Which of the lines are accepted.
+     * @throws IOException If the file cannot be read.
+     */
+    public BatchResult accept(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return accept(lines);
+        }
+    }
+
+    /**
+     * Checks a range of words and sets their bits. The offset of the range in
+     * the bitmap must be a multiple of 64.
+     */
+    private class AcceptTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<? extends CharSequence> words;
+        private final int from;
+        private final int to;
+        private final long[] bitmap;
+        private final int offset;
+
+        AcceptTask(List<? extends CharSequence> words, int from, int to, long[] bitmap, int offset) {
+            this.words = words;
+            this.from = from;
+            this.to = to;
+            this.bitmap = bitmap;
+            this.offset = offset;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    if (automaton.accepts(words.get(i))) {
+                        final int bit = offset + i;
+                        bitmap[bit >>> 6] |= 1L << bit;
+                    }
+                }
+            } else {
+                final int middle = from + (((to - from) >>> 1) & ~63);
+                invokeAll(new AcceptTask(words, from, middle, bitmap, offset),
+                        new AcceptTask(words, middle, to, bitmap, offset));
+            }
+        }
+
+    }
+
+}
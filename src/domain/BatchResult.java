@@ -0,0 +1,79 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * The outcome of checking a batch of words against an automaton. Which words
+ * were accepted is stored as a bitmap, one bit per word in the order the
+ * words were given.
+ *
+ * @author Arjan
+ */
+public class BatchResult {
+
+    private final long[] bitmap;
+    private final int size;
+    private final long elapsedNanos;
+
+    public BatchResult(long[] bitmap, int size, long elapsedNanos) {
+        this.bitmap = bitmap;
+        this.size = size;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return The number of words in the batch.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The position of a word in the batch.
+     * @return True if the word at the given position was accepted.
+     */
+    public boolean isAccepted(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (bitmap[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return The bitmap of accepted words. Bit i of word i / 64 is set if
+     * word i was accepted. The array is a copy.
+     */
+    public long[] getBitmap() {
+        return bitmap.clone();
+    }
+
+    public int getAcceptedCount() {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return The throughput of the batch, in words per second.
+     */
+    public double getWordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : size * 1e9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{" + "size=" + size + ", accepted=" + getAcceptedCount()
+                + ", elapsedMs=" + elapsedNanos / 1000000 + ", wordsPerSecond=" + (long) getWordsPerSecond() + '}';
+    }
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges behaviourally identical States of an automaton by partition
+ * refinement. All States start out in one block, apart from the terminators.
+ * Every block is used as a splitter: for each label of the Transitions into
+ * the splitter, every block that has States with a Transition by that label
+ * into the splitter, as well as States without one, is split in two. Both
+ * halves of every split become splitters in turn, until no block can be split
+ * anymore. States that are still in the same block are bisimilar and are
+ * merged. A splitter costs time in proportion to the Transitions into it,
+ * rather than to its size times the number of labels.
+ *
+ * @author Arjan
+ */
+public class BisimulationMinimizer {
+
+    private BisimulationMinimizer() {
+    }
+
+    /**
+     * Merges the strongly bisimilar States of the given Automaton: States
+     * that are both terminators or both not, and that can each follow every
+     * Transition of the other to a bisimilar State. Transitions are told apart
+     * by their input and by what they do to the stack. Unreachable States are
+     * left out. A merged State has the name of the State that was numbered
+     * first, so the start state keeps its name.
+     *
+     * @param automaton Any Automaton.
+     * @return A new Automaton. The given Automaton is not modified.
+     */
+    public static Automaton minimizeStrong(Automaton automaton) {
+        final String name = automaton.getName() == null ? null : automaton.getName() + "_bisim";
+        return minimize(automaton, name);
+    }
+
+    /**
+     * Merges the States of the given IO automaton that behave the same up to
+     * Transitions without IO. The Automaton is first reduced to its
+     * {@link TauQuotient}, in which every internal path has been saturated
+     * into direct Transitions, and the quotient is then minimized strongly.
+     * This is coarser than strong bisimulation of the Automaton itself, but
+     * finer than textbook branching bisimulation: States that differ in whether
+     * they can move without IO are kept apart, because the
+     * {@link DeadlockFinder} treats a process that can move on its own
+     * differently from one that can't. The deadlocks of the result are
+     * therefore the same as those of the given Automaton.
+     *
+     * @param automaton An IO automaton.
+     * @return A new Automaton. The given Automaton is not modified.
+     */
+    public static Automaton minimizeModuloInternal(Automaton automaton) {
+        final String name = automaton.getName() == null ? null : automaton.getName() + "_min";
+        return minimize(TauQuotient.quotient(automaton), name);
+    }
+
+    private static Automaton minimize(Automaton automaton, String name) {
+        final StateNumbering numbering = new StateNumbering(automaton.getStartState());
+        final int size = numbering.size();
+        final Map<String, Integer> labels = new HashMap<>();
+        final List<Transition> transitions = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            final Iterator<Transition> itTrans = numbering.getState(id).getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (trans.getTargetState() != null) {
+                    transitions.add(trans);
+                    labels.putIfAbsent(labelOf(trans), labels.size());
+                }
+            }
+        }
+        final int[] sources = new int[transitions.size()];
+        final int[] labelIds = new int[transitions.size()];
+        final int[] targets = new int[transitions.size()];
+        for (int i = 0; i < sources.length; i++) {
+            final Transition trans = transitions.get(i);
+            sources[i] = numbering.indexOf(trans.getSourceState());
+            labelIds[i] = labels.get(labelOf(trans));
+            targets[i] = numbering.indexOf(trans.getTargetState());
+        }
+        final boolean[] terminators = new boolean[size];
+        for (int id = 0; id < size; id++) {
+            terminators[id] = automaton.terminatesAt(numbering.getState(id));
+        }
+        final int[] blocks = refine(size, labels.size(), sources, labelIds, targets, terminators);
+
+        final int[] representatives = new int[size];
+        final String[] names = new String[size];
+        for (int id = size - 1; id >= 0; id--) {
+            representatives[blocks[id]] = id;
+            names[blocks[id]] = numbering.getState(id).getName();
+        }
+        final AutomatonBuilder minimal = new AutomatonBuilder(name, names[0]);
+        for (int i = 0; i < sources.length; i++) {
+            final int block = blocks[sources[i]];
+            if (representatives[block] == sources[i]) {
+                final Transition trans = transitions.get(i);
+                minimal.addTransition(names[block], names[blocks[targets[i]]], trans.getInput(),
+                        trans.getReadFromStack(), trans.getWriteToStack());
+            }
+        }
+        for (int id = 0; id < size; id++) {
+            if (terminators[id] && representatives[blocks[id]] == id) {
+                minimal.addEndState(names[blocks[id]]);
+            }
+        }
+        return minimal.build();
+    }
+
+    private static String labelOf(Transition trans) {
+        return trans.getInput() + trans.getReadFromStack() + trans.getWriteToStack();
+    }
+
+    /**
+     * Partitions the States of a labelled transition system into blocks of
+     * strongly bisimilar States.
+     *
+     * @param size The number of States.
+     * @param labelCount The number of different labels.
+     * @param sources The source of every Transition.
+     * @param labelIds The label of every Transition.
+     * @param targets The target of every Transition.
+     * @param terminators Which States are terminators.
+     * @return For every State, the block it belongs to. Blocks are numbered
+     * in order of the first State they contain, so State 0 gets block 0.
+     */
+    private static int[] refine(int size, int labelCount, int[] sources, int[] labelIds, int[] targets,
+            boolean[] terminators) {
+        final int[] predecessorStart = new int[size + 1];
+        for (int target : targets) {
+            predecessorStart[target + 1]++;
+        }
+        for (int i = 1; i < predecessorStart.length; i++) {
+            predecessorStart[i] += predecessorStart[i - 1];
+        }
+        final int[] predecessors = new int[targets.length];
+        final int[] predecessorLabels = new int[targets.length];
+        final int[] fill = predecessorStart.clone();
+        for (int i = 0; i < targets.length; i++) {
+            predecessorLabels[fill[targets[i]]] = labelIds[i];
+            predecessors[fill[targets[i]]++] = sources[i];
+        }
+
+        final Partition partition = new Partition(size);
+        for (int state = 0; state < size; state++) {
+            if (terminators[state]) {
+                partition.mark(state);
+            }
+        }
+        partition.splitMarked();
+        final boolean[] onWorklist = new boolean[size];
+        final int[] worklist = new int[size];
+        int pending = 0;
+        for (int block = 0; block < partition.getBlockCount(); block++) {
+            onWorklist[block] = true;
+            worklist[pending++] = block;
+        }
+
+        // The Transitions into the splitter, chained per label.
+        final int[] labelFirst = new int[labelCount];
+        Arrays.fill(labelFirst, -1);
+        final int[] usedLabels = new int[labelCount];
+        final int[] edgeSources = new int[targets.length];
+        final int[] edgeNext = new int[targets.length];
+        while (pending > 0) {
+            final int splitter = worklist[--pending];
+            onWorklist[splitter] = false;
+            int usedCount = 0;
+            int edgeCount = 0;
+            for (int i = 0; i < partition.getBlockSize(splitter); i++) {
+                final int state = partition.getElement(splitter, i);
+                for (int p = predecessorStart[state]; p < predecessorStart[state + 1]; p++) {
+                    final int label = predecessorLabels[p];
+                    if (labelFirst[label] == -1) {
+                        usedLabels[usedCount++] = label;
+                    }
+                    edgeSources[edgeCount] = predecessors[p];
+                    edgeNext[edgeCount] = labelFirst[label];
+                    labelFirst[label] = edgeCount++;
+                }
+            }
+            for (int u = 0; u < usedCount; u++) {
+                final int label = usedLabels[u];
+                for (int edge = labelFirst[label]; edge != -1; edge = edgeNext[edge]) {
+                    partition.mark(edgeSources[edge]);
+                }
+                labelFirst[label] = -1;
+                for (int changed : partition.splitMarked()) {
+                    if (!onWorklist[changed]) {
+                        onWorklist[changed] = true;
+                        worklist[pending++] = changed;
+                    }
+                }
+            }
+        }
+
+        final int[] numbers = new int[Math.max(size, 1)];
+        Arrays.fill(numbers, -1);
+        final int[] blocks = new int[size];
+        int blockCount = 0;
+        for (int state = 0; state < size; state++) {
+            final int block = partition.getBlock(state);
+            if (numbers[block] == -1) {
+                numbers[block] = blockCount++;
+            }
+            blocks[state] = numbers[block];
+        }
+        return blocks;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * Wraps a set of States in bitset form, so it can be used as the key of a
+ * map. The hash code is computed once. The wrapped array must not be modified
+ * while the key is in use.
+ *
+ * @author Arjan
+ */
+class BitsetKey {
+
+    private final long[] bits;
+    private final int hash;
+
+    BitsetKey(long[] bits) {
+        this.bits = bits;
+        this.hash = Arrays.hashCode(bits);
+    }
+
+    long[] getBits() {
+        return bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return Arrays.equals(bits, ((BitsetKey) obj).bits);
+    }
+
+}
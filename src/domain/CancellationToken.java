@@ -0,0 +1,31 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * Lets one thread ask a long running analysis on another thread to stop. The
+ * analysis checks the token regularly and stops by throwing a
+ * {@link java.util.concurrent.CancellationException}.
+ *
+ * @author Arjan
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled = false;
+
+    /**
+     * Asks every analysis that uses this token to stop as soon as possible.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
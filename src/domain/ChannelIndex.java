@@ -0,0 +1,178 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * The IO Transitions of one State, grouped by direction and channel. Channel
+ * numbers are parsed once, when the index is built, so finding the partners
+ * of a Transition is a hash lookup instead of a scan over every Transition of
+ * the other State.
+ *
+ * The channels in use are also kept as bitmasks, one for reading and one for
+ * writing, so whether two States can synchronize at all is usually decided by
+ * a bitwise AND. Channels 0 to 63 live in a long; higher channels in a BitSet.
+ *
+ * @author Arjan
+ */
+public class ChannelIndex {
+
+    private final Map<Integer, List<Transition>> readers = new HashMap<>();
+    private final Map<Integer, List<Transition>> writers = new HashMap<>();
+    private long readMask = 0L;
+    private long writeMask = 0L;
+    private final BitSet highReads = new BitSet();
+    private final BitSet highWrites = new BitSet();
+    private boolean negativeChannels = false;
+    private final boolean nonIOTransitions;
+
+    /**
+     * Indexes the IO Transitions that the given State has right now. Later
+     * changes to the State are not reflected.
+     *
+     * @param state The State whose Transitions are indexed.
+     */
+    public ChannelIndex(State state) {
+        state.getTransitionsStream()
+                .filter((trans) -> trans.performsIOOperation())
+                .forEach((trans) -> {
+                    try {
+                        add(trans, trans.getChannel());
+                    } catch (NumberFormatException ex) {
+                        // Not a valid channel, so no other Transition can ever match it.
+                    }
+                });
+        this.nonIOTransitions = state.getTransitionsStream().anyMatch((trans) -> !trans.performsIOOperation());
+    }
+
+    private void add(Transition trans, int channel) {
+        final boolean reads = trans.readsFromChannel();
+        (reads ? readers : writers).computeIfAbsent(channel, (key) -> new ArrayList<>()).add(trans);
+        if (channel < 0) {
+            negativeChannels = true;
+        } else if (channel < 64) {
+            if (reads) {
+                readMask |= 1L << channel;
+            } else {
+                writeMask |= 1L << channel;
+            }
+        } else {
+            (reads ? highReads : highWrites).set(channel);
+        }
+    }
+
+    /**
+     * @return True if the indexed State had at least one Transition without
+     * IO.
+     */
+    public boolean hasNonIOTransitions() {
+        return nonIOTransitions;
+    }
+
+    /**
+     * @param channel A channel number.
+     * @return The Transitions that read from the given channel.
+     */
+    public List<Transition> getReaders(int channel) {
+        return readers.getOrDefault(channel, Collections.emptyList());
+    }
+
+    /**
+     * @param channel A channel number.
+     * @return The Transitions that write to the given channel.
+     */
+    public List<Transition> getWriters(int channel) {
+        return writers.getOrDefault(channel, Collections.emptyList());
+    }
+
+    /**
+     * @return The channels that this index reads from or writes to.
+     */
+    public Set<Integer> getChannels() {
+        final Set<Integer> channels = new HashSet<>(readers.keySet());
+        channels.addAll(writers.keySet());
+        return channels;
+    }
+
+    /**
+     * Checks if a Transition of this index can communicate with a Transition
+     * of the other index: one reads from a channel the other writes to.
+     *
+     * @param other The index of the other State.
+     * @return True if the two States can synchronize.
+     */
+    public boolean canSynchronizeWith(ChannelIndex other) {
+        if ((readMask & other.writeMask) != 0 || (writeMask & other.readMask) != 0) {
+            return true;
+        }
+        if (highReads.intersects(other.highWrites) || highWrites.intersects(other.highReads)) {
+            return true;
+        }
+        if (negativeChannels && other.negativeChannels) {
+            return shareChannel(readers, other.writers) || shareChannel(writers, other.readers);
+        }
+        return false;
+    }
+
+    private static boolean shareChannel(Map<Integer, List<Transition>> side1, Map<Integer, List<Transition>> side2) {
+        final Map<Integer, List<Transition>> smaller = side1.size() <= side2.size() ? side1 : side2;
+        final Map<Integer, List<Transition>> larger = smaller == side1 ? side2 : side1;
+        return smaller.keySet().stream().anyMatch(larger::containsKey);
+    }
+
+    /**
+     * Adds the channels of this index to the given sets. Negative channel
+     * numbers, which don't fit in a BitSet, are counted as channel 0 in both
+     * directions. The result may therefore claim too many channels, but never
+     * too few.
+     *
+     * @param reads Receives the channels that are read from.
+     * @param writes Receives the channels that are written to.
+     */
+    public void addChannelsTo(BitSet reads, BitSet writes) {
+        reads.or(BitSet.valueOf(new long[]{readMask}));
+        reads.or(highReads);
+        writes.or(BitSet.valueOf(new long[]{writeMask}));
+        writes.or(highWrites);
+        if (negativeChannels) {
+            reads.set(0);
+            writes.set(0);
+        }
+    }
+
+    /**
+     * Passes every pair of communicating Transitions to the given action. The
+     * first argument is always the Transition of this index.
+     *
+     * @param other The index of the other State.
+     * @param action Receives the Transition of this index and its partner.
+     */
+    public void forEachSynchronization(ChannelIndex other, BiConsumer<Transition, Transition> action) {
+        forEachMatch(readers, other.writers, action);
+        forEachMatch(writers, other.readers, action);
+    }
+
+    private static void forEachMatch(Map<Integer, List<Transition>> mine, Map<Integer, List<Transition>> theirs,
+            BiConsumer<Transition, Transition> action) {
+        mine.forEach((channel, transitions) -> {
+            final List<Transition> partners = theirs.get(channel);
+            if (partners != null) {
+                transitions.forEach((trans1) -> partners.forEach((trans2) -> action.accept(trans1, trans2)));
+            }
+        });
+    }
+
+}
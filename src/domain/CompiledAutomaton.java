@@ -0,0 +1,83 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * An immutable snapshot of an Automaton, compiled for parsing input. The
+ * snapshot copies everything it needs into arrays when it is created, so the
+ * original Automaton can be edited afterwards without affecting it. Any number
+ * of threads may call {@link #accepts} at the same time.
+ *
+ * The representation depends on the {@link AutomatonType}: a DFA becomes a
+ * {@link DfaTable}, a DPDA a {@link DpdaTable} and an NPDA a
+ * {@link GssRecognizer}. All other automata are simulated with
+ * {@link NfaBitsets}; IO Transitions never consume input, so IO automata
+ * behave as NFAs here. Every thread gets its own {@link LazyDfa} cache for
+ * them.
+ *
+ * @author Arjan
+ */
+public final class CompiledAutomaton {
+
+    private final AutomatonType type;
+    private final DfaTable dfaTable;
+    private final DpdaTable dpdaTable;
+    private final GssRecognizer gssRecognizer;
+    private final NfaBitsets nfaBitsets;
+    private final ThreadLocal<LazyDfa> lazyDfa;
+
+    /**
+     * Compiles a snapshot of the given Automaton.
+     *
+     * @param automaton The Automaton to compile.
+     * @param nfaCacheBytes The approximate size of the cache each thread may
+     * use for parsing input with an NFA. Zero disables the cache.
+     */
+    public CompiledAutomaton(Automaton automaton, long nfaCacheBytes) {
+        this.type = automaton.getTypeProperty().get();
+        this.dfaTable = type == AutomatonType.DFA ? DfaTable.compile(automaton) : null;
+        this.dpdaTable = type == AutomatonType.DPDA ? new DpdaTable(automaton) : null;
+        this.gssRecognizer = type == AutomatonType.NPDA ? new GssRecognizer(automaton) : null;
+        if (dfaTable == null && dpdaTable == null && gssRecognizer == null) {
+            this.nfaBitsets = new NfaBitsets(automaton);
+            this.lazyDfa = nfaCacheBytes > 0
+                    ? ThreadLocal.withInitial(() -> new LazyDfa(nfaBitsets, nfaCacheBytes)) : null;
+        } else {
+            this.nfaBitsets = null;
+            this.lazyDfa = null;
+        }
+    }
+
+    /**
+     * @return The type the Automaton had when this snapshot was taken.
+     */
+    public AutomatonType getType() {
+        return type;
+    }
+
+    /**
+     * Checks if the given input occurs within the language accepted by the
+     * automaton at the time the snapshot was taken.
+     *
+     * @param input The word/input string to be checked.
+     * @return True if the input is accepted.
+     */
+    public boolean accepts(CharSequence input) {
+        if (dfaTable != null) {
+            return dfaTable.accepts(input);
+        } else if (dpdaTable != null) {
+            return dpdaTable.accepts(input);
+        } else if (gssRecognizer != null) {
+            return gssRecognizer.accepts(input);
+        } else if (lazyDfa != null) {
+            return lazyDfa.get().accepts(input);
+        } else {
+            return nfaBitsets.accepts(input);
+        }
+    }
+
+}
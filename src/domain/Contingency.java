@@ -7,6 +7,9 @@
 package domain;
 
 /**
+ * A State that a process may be waiting in at a certain time slot. The
+ * process is identified by its index in the array of processes that is being
+ * analysed, starting at zero.
  *
  * @author Arjan
  */
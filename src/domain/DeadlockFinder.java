@@ -6,72 +6,603 @@
  */
 package domain;
 
-import java.util.HashMap;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 /**
- * A class that considers two Automata and is capable of running a static
- * analysis on them to discover paths through the automata that deadlock.
+ * A class that considers any number of Automata, running as communicating
+ * processes, and is capable of running a static analysis on them to discover
+ * paths through the automata that deadlock. Any two of the processes can
+ * synchronize by one of them writing to a channel that the other reads from.
+ *
+ * The global state of the system is a {@link StateVector}, which holds a
+ * State id for every process. Ids are handed out per process, and every sink
+ * of a process shares a single id.
+ *
+ * Resolved vectors are remembered as a single long each, with a fixed number
+ * of bits per process, as long as the ids of all processes fit in 64 bits.
+ * Only larger systems fall back to a set of StateVector objects. The vectors
+ * that still have to be explored are kept in a queue of time slots, each
+ * stored as the plain ids of the vector it starts from, and a slot is dropped
+ * as soon as it has been explored.
+ *
+ * By default the search runs on the calling thread. See
+ * {@link ExplorationMode} for the alternatives. A search can be stopped from
+ * another thread with a {@link CancellationToken}, or limited by a time or
+ * state budget. Its progress can be followed with {@link #getProgress}.
+ *
+ * By default the processes are made smaller before they are searched, see
+ * {@link #setBisimulationReduction} and {@link #setTauQuotient}.
+ *
+ * A DeadlockFinder can check its processes again after they have been edited.
+ * With {@link #setIncrementalReverification} it remembers how every vector
+ * was resolved, and a new check only explores again what the edits touched.
  *
  * @author Arjan
  */
 public class DeadlockFinder {
 
-    private final Automaton process1;
-    private final Automaton process2;
-    private final UniqueIdIssuer idIssuer = new UniqueIdIssuer();
-    private final Map<Integer, Set<Contingency>> contingenciesMap = new HashMap<>();
-    private final Set<StatePair> resolvedPairs = new HashSet<>();
-    private String log = "";
+    private final Automaton[] processes;
+    private final StateNumbering[] numberings;
+    private final State[] startStates;
+    private final int[] sinkIds;
+    private volatile UniqueIdIssuer idIssuer = new UniqueIdIssuer();
+    private VectorQueue frontier;
+    private int[][][] contingencyIds;
+    private final Set<StateVector> resolvedVectors = ConcurrentHashMap.newKeySet();
+    private final StripedLongHashSet resolvedKeys = new StripedLongHashSet();
+    private VectorPacker packer;
+    private boolean incrementalReverification = false;
+    private boolean caching = false;
+    private final Map<StateVector, VectorResolution> resolutionCache = new ConcurrentHashMap<>();
+    private boolean cacheComplete = false;
+    private long cacheRevision = 0;
+    private boolean skipCached = false;
+    private boolean traceRecording = false;
+    private boolean partialOrderReduction = false;
+    private boolean tauQuotient = false;
+    private boolean bisimulationReduction = true;
+    private boolean merging = false;
+    private StubbornSets stubbornSets;
+    private TraceRecorder recorder;
+    private volatile int deadlockVisit = TraceRecorder.NO_PARENT;
+    private final AtomicBoolean deadlockFound = new AtomicBoolean(false);
+    private ExplorationMode explorationMode = ExplorationMode.SEQUENTIAL;
+    private volatile String log = "";
+    private CancellationToken cancellationToken = new CancellationToken();
+    private long timeBudgetNanos = Long.MAX_VALUE;
+    private long stateBudget = Long.MAX_VALUE;
+    private Consumer<DeadlockProgress> progressListener;
+    private final AtomicLong resolvedCount = new AtomicLong();
+    private final AtomicInteger finishedSlots = new AtomicInteger();
+    private final AtomicLong lastReportNanos = new AtomicLong();
+    private volatile long startNanos;
+    private File scratchDirectory = new File(System.getProperty("java.io.tmpdir"));
+    private int diskCacheSize = DEFAULT_DISK_CACHE_SIZE;
+    private volatile MappedLongQueue diskFrontier;
+
+    /**
+     * The minimum time between two calls to the progress listener.
+     */
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * The number of recently visited vectors kept on the heap in
+     * {@link ExplorationMode#DISK_BACKED} mode when no other size is set: 8
+     * MiB worth.
+     */
+    public static final int DEFAULT_DISK_CACHE_SIZE = 1 << 20;
 
     /**
      * Constructs a new DeadlockFinder. Usable by calling {@link #hasDeadlock}.
-     * Calling hasDeadlock() more than once has undefined behaviour.
      *
-     * @param process1 One of the automaton tracked.
-     * @param process2 The other automaton.
+     * @param processes The automata that are tracked, in a fixed order. The
+     * index of an Automaton in this array is its process id.
      */
-    public DeadlockFinder(Automaton process1, Automaton process2) {
-        this.process1 = process1;
-        this.process2 = process2;
+    public DeadlockFinder(Automaton... processes) {
+        this.processes = processes.clone();
+        this.numberings = new StateNumbering[processes.length];
+        this.startStates = new State[processes.length];
+        this.sinkIds = new int[processes.length];
     }
 
     public String getLog() {
         return log;
     }
 
+    public ExplorationMode getExplorationMode() {
+        return explorationMode;
+    }
+
+    /**
+     * Chooses how the state space is searched. Must be called before
+     * {@link #hasDeadlock}.
+     *
+     * @param explorationMode The mode to use.
+     */
+    public void setExplorationMode(ExplorationMode explorationMode) {
+        this.explorationMode = explorationMode;
+    }
+
+    /**
+     * Chooses whether the finder uses partial-order reduction. With reduction,
+     * only the synchronizations of a stubborn set of processes are followed
+     * from every vector, see {@link StubbornSets}. Whether a deadlock exists
+     * is still decided correctly, but fewer vectors are explored when
+     * processes work independently on different channels. Must be called
+     * before {@link #hasDeadlock}.
+     *
+     * @param partialOrderReduction True to reduce the search.
+     */
+    public void setPartialOrderReduction(boolean partialOrderReduction) {
+        this.partialOrderReduction = partialOrderReduction;
+    }
+
+    /**
+     * Chooses whether the finder searches the {@link TauQuotient} of every
+     * process instead of the process itself. The quotients are calculated at
+     * the start of every check, and lead to the same answer with fewer
+     * States to number and walk. The log names the States the quotient
+     * States were copied from, but the Transitions of a trace are those of the
+     * quotients. It has no effect with incremental reverification, because
+     * the cached resolutions refer to the States of the processes. Must be
+     * called before {@link #hasDeadlock}.
+     *
+     * @param tauQuotient True to search the quotients.
+     */
+    public void setTauQuotient(boolean tauQuotient) {
+        this.tauQuotient = tauQuotient;
+    }
+
+    /**
+     * Chooses whether the finder merges the behaviourally identical States of
+     * every process before it searches them. Every check first reduces each
+     * process with {@link BisimulationMinimizer#minimizeModuloInternal},
+     * which includes the {@link TauQuotient}, and then searches the results.
+     * The answer stays the same, but the product of the processes can be much
+     * smaller. A merged State is named after one of the States it stands
+     * for. This is on by default. It is skipped while results are cached for
+     * incremental reverification, because the cached resolutions refer to the
+     * States of the processes. While traces are recorded, a deadlock found in
+     * the reduced processes is searched for once more in the processes
+     * themselves, so the trace and the log never show a merged State. Must be
+     * called before {@link #hasDeadlock}.
+     *
+     * @param bisimulationReduction True to search the reduced processes.
+     */
+    public void setBisimulationReduction(boolean bisimulationReduction) {
+        this.bisimulationReduction = bisimulationReduction;
+    }
+
+    /**
+     * Chooses whether the finder remembers the resolution of every vector
+     * between calls to {@link #hasDeadlock}. A later call then only explores
+     * the vectors whose resolution may have changed because Transitions were
+     * added or removed, and what can newly be reached from them. This costs
+     * a StateVector and its successors per resolved vector. It has no effect
+     * while partial-order reduction is on, because the stubborn sets depend on
+     * every State of the processes.
+     *
+     * @param incrementalReverification True to keep results between checks.
+     */
+    public void setIncrementalReverification(boolean incrementalReverification) {
+        this.incrementalReverification = incrementalReverification;
+    }
+
+    /**
+     * Chooses where the files of {@link ExplorationMode#DISK_BACKED} mode are
+     * stored. They are deleted when the search ends. Must be called before
+     * {@link #hasDeadlock}.
+     *
+     * @param scratchDirectory The directory. The system's temporary directory
+     * by default.
+     */
+    public void setScratchDirectory(File scratchDirectory) {
+        this.scratchDirectory = scratchDirectory;
+    }
+
+    /**
+     * Chooses how many recently visited vectors are kept on the heap in
+     * {@link ExplorationMode#DISK_BACKED} mode, at 8 bytes each. Must be
+     * called before {@link #hasDeadlock}.
+     *
+     * @param diskCacheSize The number of vectors.
+     */
+    public void setDiskCacheSize(int diskCacheSize) {
+        this.diskCacheSize = diskCacheSize;
+    }
+
+    /**
+     * @return The number of vectors that have been resolved so far.
+     */
+    public long getResolvedCount() {
+        return resolvedCount.get();
+    }
+
+    /**
+     * @return A snapshot of how far the search has come. Can be called from
+     * any thread while the search runs.
+     */
+    public DeadlockProgress getProgress() {
+        final long elapsed = startNanos == 0 ? 0 : System.nanoTime() - startNanos;
+        final MappedLongQueue frontier = diskFrontier;
+        final int waiting = frontier != null ? (int) Math.min(Integer.MAX_VALUE, frontier.size())
+                : Math.max(0, idIssuer.peekAtNextID() - finishedSlots.get());
+        return new DeadlockProgress(resolvedCount.get(), waiting, elapsed);
+    }
+
+    /**
+     * @param cancellationToken The token that can stop the search. Must be
+     * set before {@link #hasDeadlock}.
+     */
+    public void setCancellationToken(CancellationToken cancellationToken) {
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Limits how long the search may take. Must be called before
+     * {@link #hasDeadlock}.
+     *
+     * @param millis The maximum duration of the search in milliseconds.
+     */
+    public void setTimeBudget(long millis) {
+        this.timeBudgetNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Limits how many vectors the search may resolve. Must be called before
+     * {@link #hasDeadlock}.
+     *
+     * @param states The maximum number of resolved vectors.
+     */
+    public void setStateBudget(long states) {
+        this.stateBudget = states;
+    }
+
+    /**
+     * Sets a listener that receives a progress snapshot at most ten times a
+     * second while the search runs. In parallel mode it may be called from any
+     * of the threads of the search.
+     *
+     * @param progressListener The listener, or null for none.
+     */
+    public void setProgressListener(Consumer<DeadlockProgress> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Chooses whether the finder remembers how every vector was reached, so
+     * that {@link #getTrace} can tell how a deadlock comes about. This costs
+     * about 16 bytes per resolved vector. Must be called before
+     * {@link #hasDeadlock}.
+     *
+     * @param traceRecording True to record the information for a trace.
+     */
+    public void setTraceRecording(boolean traceRecording) {
+        this.traceRecording = traceRecording;
+    }
+
     /**
-     * Search the automaton pair for potential deadlock situations. This method
-     * can only be called once in the lifetime of this object.
+     * Search the automata for potential deadlock situations. Can be called
+     * again after the automata have been edited, to check them again.
+     *
+     * With incremental reverification, the cached resolutions that the edits
+     * may have changed are dropped first. If the previous check explored
+     * everything without finding a deadlock, every vector left in the cache
+     * is known not to deadlock, and so is everything it leads to. Only the
+     * dropped vectors and the start then have to be explored again, stopping
+     * at every vector that is still cached. Because a dropped vector may no
+     * longer be reachable, a deadlock found this way is confirmed by a full
+     * search from the start, which still reuses the cache.
      *
      * @return True if a possibility for deadlock is detected.
+     * @throws CancellationException If the search was cancelled or ran out of
+     * its budget before it could decide.
+     */
+    public boolean hasDeadlock() {
+        startNanos = System.nanoTime();
+        lastReportNanos.set(startNanos);
+        final long revision = State.getLatestRevision();
+        caching = incrementalReverification && !partialOrderReduction && !tauQuotient
+                && (explorationMode == ExplorationMode.SEQUENTIAL || explorationMode == ExplorationMode.PARALLEL);
+        numberStates(true);
+        if (!caching) {
+            resolutionCache.clear();
+            cacheComplete = false;
+            final boolean deadlock = search(Collections.emptyList(), false);
+            if (deadlock && merging && traceRecording) {
+                numberStates(false);
+                return search(Collections.emptyList(), false);
+            }
+            return deadlock;
+        }
+        final List<StateVector> invalidated = invalidateCachedResolutions();
+        cacheRevision = revision;
+        final boolean complete = cacheComplete;
+        cacheComplete = false;
+        if (complete && !search(invalidated, true)) {
+            cacheComplete = true;
+            return false;
+        }
+        final boolean deadlock = search(Collections.emptyList(), false);
+        if (!deadlock) {
+            resolutionCache.keySet().removeIf((vector) -> !isResolved(vector));
+            cacheComplete = true;
+        }
+        return deadlock;
+    }
+
+    /**
+     * Numbers the States of every process. While results are cached, States
+     * keep their id from one check to the next and new States are added to
+     * the end, so every State a cached vector can lead to has an id. Otherwise
+     * every check numbers the States from scratch, those of the reduced
+     * processes if they are reduced. A numbering of a reduced copy is never
+     * extended, because the copy doesn't see the edits to the process. If
+     * such a numbering is replaced while caching, the cached results refer to
+     * the old ids and are dropped.
+     *
+     * @param merge False to leave the States of the processes unmerged, even
+     * with bisimulation reduction.
+     */
+    private void numberStates(boolean merge) {
+        merging = merge && bisimulationReduction && !caching;
+        final int[] stateCounts = new int[processes.length];
+        boolean renumbered = false;
+        for (int i = 0; i < processes.length; i++) {
+            if (numberings[i] == null || !caching || startStates[i] != processes[i].getStartState()) {
+                startStates[i] = reduce(processes[i]).getStartState();
+                numberings[i] = new StateNumbering(startStates[i]);
+                sinkIds[i] = numberings[i].add(new SinkState());
+                renumbered = true;
+            } else {
+                numberings[i].addSuccessors();
+            }
+            stateCounts[i] = numberings[i].size();
+        }
+        if (renumbered) {
+            resolutionCache.clear();
+            cacheComplete = false;
+        }
+        packer = VectorPacker.create(stateCounts);
+        stubbornSets = partialOrderReduction ? new StubbornSets(numberings, sinkIds) : null;
+    }
+
+    /**
+     * @return The Automaton that is searched in place of the given process.
+     */
+    private Automaton reduce(Automaton process) {
+        if (merging) {
+            return BisimulationMinimizer.minimizeModuloInternal(process);
+        } else if (tauQuotient) {
+            return TauQuotient.quotient(process);
+        }
+        return process;
+    }
+
+    /**
+     * Runs one search from the start of the processes and from the given
+     * vectors.
+     *
+     * @param seeds Vectors to explore from, besides the start.
+     * @param skipCached True if vectors with a cached resolution don't need
+     * to be explored, because everything they lead to has been explored.
+     * @return True if a deadlocking situation is detected.
+     */
+    private boolean search(List<StateVector> seeds, boolean skipCached) {
+        idIssuer = new UniqueIdIssuer();
+        resolvedVectors.clear();
+        resolvedKeys.clear();
+        resolvedCount.set(0);
+        finishedSlots.set(0);
+        deadlockFound.set(false);
+        deadlockVisit = TraceRecorder.NO_PARENT;
+        log = "";
+        this.skipCached = skipCached;
+        if (explorationMode == ExplorationMode.SYMBOLIC) {
+            recorder = null;
+            return checkForDeadlocksSymbolically();
+        }
+        collectContingencyIds();
+        if (explorationMode == ExplorationMode.DISK_BACKED && packer != null) {
+            recorder = null;
+            return checkForDeadlocksOnDisk();
+        }
+        recorder = traceRecording && !skipCached && !merging ? new TraceRecorder(packer) : null;
+        frontier = new VectorQueue(processes.length);
+        addSlot(getStartVector(), TraceRecorder.NO_PARENT);
+        seeds.forEach((seed) -> addSlot(seed, TraceRecorder.NO_PARENT));
+        try {
+            if (explorationMode == ExplorationMode.PARALLEL) {
+                return checkForDeadlocksInParallel();
+            }
+            return checkForDeadlocks();
+        } finally {
+            frontier = null;
+        }
+    }
+
+    /**
+     * Drops every cached resolution that may have changed since the previous
+     * check. A resolution is dropped if one of the States in the vector or in
+     * its successors is dirty: either its Transitions changed, or it can
+     * reach such a State without IO, which changes its contingencies.
+     *
+     * @return The vectors that were dropped.
+     */
+    private List<StateVector> invalidateCachedResolutions() {
+        final List<StateVector> invalidated = new ArrayList<>();
+        if (resolutionCache.isEmpty()) {
+            return invalidated;
+        }
+        final boolean[][] dirty = new boolean[processes.length][];
+        for (int i = 0; i < processes.length; i++) {
+            dirty[i] = findDirtyStates(numberings[i], cacheRevision);
+        }
+        final Iterator<Map.Entry<StateVector, VectorResolution>> itEntries = resolutionCache.entrySet().iterator();
+        while (itEntries.hasNext()) {
+            final Map.Entry<StateVector, VectorResolution> entry = itEntries.next();
+            boolean touched = touches(entry.getKey(), dirty);
+            for (StateVector successor : entry.getValue().getSuccessors()) {
+                touched |= touches(successor, dirty);
+            }
+            if (touched) {
+                invalidated.add(entry.getKey());
+                itEntries.remove();
+            }
+        }
+        return invalidated;
+    }
+
+    private static boolean touches(StateVector vector, boolean[][] dirty) {
+        for (int i = 0; i < vector.size(); i++) {
+            if (dirty[i][vector.getStateId(i)]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the States of one process whose Transitions changed after the
+     * given revision, together with every State that can reach one of them
+     * without IO. Every target of a Transition must have been numbered.
+     *
+     * @return For every id of the numbering, whether that State is dirty.
+     */
+    private static boolean[] findDirtyStates(StateNumbering numbering, long revision) {
+        final int size = numbering.size();
+        final boolean[] dirty = new boolean[size];
+        final int[] predecessorStart = new int[size + 1];
+        for (int state = 0; state < size; state++) {
+            final Iterator<Transition> itTrans = numbering.getState(state).getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (trans.getTargetState() == null || trans.performsIOOperation()) {
+                    continue;
+                }
+                predecessorStart[numbering.indexOf(trans.getTargetState()) + 1]++;
+            }
+        }
+        for (int i = 1; i <= size; i++) {
+            predecessorStart[i] += predecessorStart[i - 1];
+        }
+        final int[] predecessors = new int[predecessorStart[size]];
+        final int[] fill = predecessorStart.clone();
+        final int[] stack = new int[size];
+        int pending = 0;
+        for (int state = 0; state < size; state++) {
+            final Iterator<Transition> itTrans = numbering.getState(state).getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (trans.getTargetState() == null || trans.performsIOOperation()) {
+                    continue;
+                }
+                predecessors[fill[numbering.indexOf(trans.getTargetState())]++] = state;
+            }
+            if (numbering.getState(state).getRevision() > revision) {
+                dirty[state] = true;
+                stack[pending++] = state;
+            }
+        }
+        while (pending > 0) {
+            final int state = stack[--pending];
+            for (int p = predecessorStart[state]; p < predecessorStart[state + 1]; p++) {
+                if (!dirty[predecessors[p]]) {
+                    dirty[predecessors[p]] = true;
+                    stack[pending++] = predecessors[p];
+                }
+            }
+        }
+        return dirty;
+    }
+
+    private boolean isResolved(StateVector vector) {
+        if (packer == null) {
+            return resolvedVectors.contains(vector);
+        }
+        return resolvedKeys.contains(packer.pack(vector));
+    }
+
+    /**
+     * Adds the given vector to the resolved vectors.
+     *
+     * @return True if the vector had not been resolved yet.
+     */
+    private boolean markResolved(StateVector vector) {
+        final boolean added;
+        if (packer == null) {
+            added = resolvedVectors.add(vector);
+        } else {
+            added = resolvedKeys.add(packer.pack(vector));
+        }
+        if (added) {
+            resolvedCount.incrementAndGet();
+        }
+        return added;
+    }
+
+    /**
+     * Throws if the search has to stop, and reports progress if it is time to
+     * do so. Called before every vector that is resolved.
+     *
+     * @throws CancellationException If the search was cancelled or has used up
+     * its budget.
      */
-    public boolean hasDeadlock() throws IllegalStateException {
-        if (idIssuer.hasIssuedIds()) {
-            throw new IllegalStateException("This DeadlockDetector has already "
-                    + "been used and is now closed.");
+    private void checkpoint() {
+        if (cancellationToken.isCancelled()) {
+            throw new CancellationException("The deadlock search was cancelled.");
+        }
+        final long now = System.nanoTime();
+        if (now - startNanos > timeBudgetNanos) {
+            throw new CancellationException("The deadlock search ran out of its time budget of "
+                    + TimeUnit.NANOSECONDS.toMillis(timeBudgetNanos) + " ms.");
+        }
+        if (resolvedCount.get() >= stateBudget) {
+            throw new CancellationException("The deadlock search ran out of its budget of "
+                    + stateBudget + " states.");
+        }
+        final long last = lastReportNanos.get();
+        if (progressListener != null && now - last >= REPORT_INTERVAL_NANOS
+                && lastReportNanos.compareAndSet(last, now)) {
+            progressListener.accept(getProgress());
         }
-        setupContingencies(idIssuer.getUniqueId());
-        return checkForDeadlocks();
     }
 
     /**
-     * Executes the actual algorithm for finding deadlocks. During the execution
-     * of this method, data will be added to the contingencies map and the
-     * resolvedPairs set.
+     * Executes the actual algorithm for finding deadlocks. Time slots are
+     * taken from the frontier in the order they were added, and the slots
+     * that follow from resolving their vectors are added to its end. A slot
+     * is forgotten as soon as it has been taken, so only the frontier and the
+     * resolved vectors take up memory.
      *
      * @return Immediately returns true if a deadlocking situation is detected.
-     * Returns false if all possible paths through both automata have been
+     * Returns false if all possible paths through the automata have been
      * considered but no possible deadlocks were found.
      */
     private boolean checkForDeadlocks() {
-        int counter = 0;
-        while (contingenciesMap.containsKey(counter)) {
-            final Set<StatePair> unresolvedPairs = getAllPairs(contingenciesMap.get(counter));
-            if (resolvePairs(unresolvedPairs)) {
-                counter++;
+        int time = 0;
+        while (!frontier.isEmpty()) {
+            final Set<StateVector> unresolvedVectors = getAllVectors(takeSlot());
+            if (resolveVectors(time, unresolvedVectors)) {
+                finishedSlots.incrementAndGet();
+                time++;
             } else {
                 return true;
             }
@@ -80,92 +611,396 @@ public class DeadlockFinder {
     }
 
     /**
-     * For a set of all contingencies in a certain time slot, return all as of
-     * yet unresolved StatePairs.
+     * Parallel version of {@link #checkForDeadlocks}. The time slots are
+     * resolved level by level: the slots that are added while resolving one
+     * level together form the next level. Every thread stops as soon as a
+     * deadlock has been found by any of them.
      *
-     * @param contingencies The complete set of contingencies from both automata
-     * concerning a certain time slot.
-     * @return The StatePairs following from the given contingencies, minus the
-     * ones that have already been considered.
+     * @return True if a deadlocking situation is detected.
      */
-    private Set<StatePair> getAllPairs(Set<Contingency> contingencies) {
-        final Set<StatePair> pairs = new HashSet<>();
-        contingencies.stream()
-                .filter((cont) -> cont.getProcessId() == 1)
-                .forEach((cont1) -> {
-                    contingencies.stream()
-                    .filter((cont) -> cont.getProcessId() == 2)
-                    .forEach((cont2) -> {
-                        final StatePair pair = makeStatePair(cont1, cont2);
-                        if (!resolvedPairs.contains(pair)) {
-                            pairs.add(pair);
-                        }
+    private boolean checkForDeadlocksInParallel() {
+        int levelStart = 0;
+        while (!frontier.isEmpty() && !deadlockFound.get()) {
+            final StateVector[] level = new StateVector[frontier.size()];
+            for (int i = 0; i < level.length; i++) {
+                level[i] = takeSlot();
+            }
+            final int firstTime = levelStart;
+            IntStream.range(0, level.length).parallel()
+                    .filter((index) -> !deadlockFound.get())
+                    .forEach((index) -> {
+                        resolveVectors(firstTime + index, getAllVectors(level[index]));
+                        finishedSlots.incrementAndGet();
                     });
-                });
-        return pairs;
+            levelStart += level.length;
+        }
+        return deadlockFound.get();
+    }
+
+    /**
+     * Adds a time slot to the end of the frontier. A slot is stored as the
+     * vector its contingencies follow from. Slots get their time id in the
+     * order they are added, which is also the order in which they are taken.
+     *
+     * @param origin The vector the processes start out from in the slot.
+     * @param parentVisit The visit whose resolution created the slot.
+     */
+    private void addSlot(StateVector origin, int parentVisit) {
+        synchronized (frontier) {
+            final int time = idIssuer.getUniqueId();
+            if (recorder != null) {
+                recorder.recordSlot(time, parentVisit);
+            }
+            frontier.add(origin);
+        }
     }
 
-    private StatePair makeStatePair(Contingency con1, Contingency con2) {
-        return new StatePair(con1.getState(), con2.getState());
+    private StateVector takeSlot() {
+        synchronized (frontier) {
+            return frontier.poll();
+        }
     }
 
     /**
-     * Attempt to resolve all pairs. If one of the pairs cannot be resolved,
-     * return false. Adds sets of contingencies to map.
+     * Symbolic version of {@link #checkForDeadlocks}. The vectors are explored
+     * step by step as BDDs, see {@link SymbolicReachability}, and the newly
+     * reached vectors of every step are checked for deadlocks. No trace is
+     * recorded, and the resolved count is the number of vectors reached.
      *
-     * @param unresolvedPairs The StatePairs that are to be resolved into zero
-     * or more sets of contingencies.
-     * @return True if all pairs could be resolved. False if one of them
-     * deadlocks.
+     * @return True if a deadlocking situation is detected.
      */
-    private boolean resolvePairs(Set<StatePair> unresolvedPairs) {
-        return unresolvedPairs.stream()
-                .allMatch((pair) -> resolvePair(pair));
+    private boolean checkForDeadlocksSymbolically() {
+        final SymbolicReachability reachability = new SymbolicReachability(numberings, sinkIds, getStartVector());
+        do {
+            resolvedCount.set(reachability.getReachableCount());
+            checkpoint();
+            final StateVector deadlock = reachability.findDeadlock();
+            if (deadlock != null) {
+                deadlockFound.set(true);
+                log = "Deadlocks at: " + describe(deadlock);
+                return true;
+            }
+        } while (reachability.expand());
+        return false;
     }
 
     /**
-     * Check if the Automata cn advance past the StatePair or if there is a dead
-     * lock situation. If the pair deadlocks, method returns false. Otherwise,
-     * follows through all the IO operations, if there are any, and gathers sets
-     * of contingencies to add to the contingenciesMap.
+     * Disk backed version of {@link #checkForDeadlocks}. Instead of time
+     * slots, the vectors themselves are queued, packed into a long each, and
+     * a vector is queued only the first time it is seen. The queue and the
+     * set of seen vectors are memory mapped files in the scratch directory,
+     * so only the cache of recently seen vectors takes up heap space that
+     * grows with the search. No trace is recorded.
      *
-     * @param unresolvedPair A point in both Automata's runtimes where they have
-     * IO transitions. At these points a deadlock might be detected.
-     * @return True if the provided StatePair could be resolved, false if a
-     * deadlock was detected.
+     * @return True if a deadlocking situation is detected.
+     * @throws UncheckedIOException If the files can't be created.
      */
-    private boolean resolvePair(StatePair unresolvedPair) {
-        if (unresolvedPair.deadlocks()) {
-            log = "Deadlocks at: " + unresolvedPair.toString();
+    private boolean checkForDeadlocksOnDisk() {
+        try (MappedLongHashSet visited = new MappedLongHashSet(scratchDirectory, diskCacheSize);
+                MappedLongQueue frontier = new MappedLongQueue(scratchDirectory)) {
+            diskFrontier = frontier;
+            enqueueVectors(getStartVector(), visited, frontier);
+            while (!frontier.isEmpty()) {
+                checkpoint();
+                final StateVector vector = packer.unpack(frontier.poll());
+                resolvedCount.incrementAndGet();
+                final VectorResolution resolution = calculateResolution(vector);
+                if (resolution.deadlocks()) {
+                    deadlockFound.set(true);
+                    log = "Deadlocks at: " + describe(vector);
+                    return true;
+                }
+                for (StateVector successor : resolution.getSuccessors()) {
+                    enqueueVectors(successor, visited, frontier);
+                }
+            }
             return false;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("The deadlock search can't use " + scratchDirectory, ex);
+        } finally {
+            diskFrontier = null;
         }
-        final Set<StatePair> paths = unresolvedPair.doIOOperations();
-        paths.stream().forEach((statepair) -> {
-            final int time = idIssuer.getUniqueId();
-            contingenciesMap.put(time, statepair.gatherContingencies(time));
+    }
+
+    /**
+     * Queues every vector that follows from the contingencies of the given
+     * vector and has not been seen before.
+     */
+    private void enqueueVectors(StateVector origin, MappedLongHashSet visited,
+            MappedLongQueue frontier) throws IOException {
+        final List<StateVector> vectors = new ArrayList<>();
+        forEachVector(origin, vectors::add);
+        for (StateVector vector : vectors) {
+            final long key = packer.pack(vector);
+            if (visited.add(key)) {
+                frontier.add(key);
+            }
+        }
+    }
+
+    /**
+     * For the vector of a certain time slot, return all as of yet unresolved
+     * StateVectors.
+     *
+     * @param origin The vector the processes start out from in the slot.
+     * @return The StateVectors following from the contingencies of the given
+     * vector, that is every combination of one contingency per process, minus
+     * the ones that have already been considered.
+     */
+    private Set<StateVector> getAllVectors(StateVector origin) {
+        final Set<StateVector> vectors = new HashSet<>();
+        forEachVector(origin, (vector) -> {
+            if (!isResolved(vector) && !(skipCached && resolutionCache.containsKey(vector))) {
+                vectors.add(vector);
+            }
         });
-        resolvedPairs.add(unresolvedPair);
+        return vectors;
+    }
+
+    /**
+     * Passes every combination of one contingency per process of the given
+     * vector to the given action.
+     */
+    private void forEachVector(StateVector origin, Consumer<StateVector> action) {
+        final int[][] choices = new int[processes.length][];
+        for (int i = 0; i < processes.length; i++) {
+            choices[i] = contingenciesOf(i, origin.getStateId(i));
+            if (choices[i].length == 0) {
+                return;
+            }
+        }
+        final int[] digits = new int[processes.length];
+        final int[] ids = new int[processes.length];
+        int process;
+        do {
+            for (int i = 0; i < processes.length; i++) {
+                ids[i] = choices[i][digits[i]];
+            }
+            action.accept(new StateVector(ids));
+            process = 0;
+            while (process < processes.length && ++digits[process] == choices[process].length) {
+                digits[process++] = 0;
+            }
+        } while (process < processes.length);
+    }
+
+    /**
+     * Attempt to resolve all vectors. If one of the vectors cannot be
+     * resolved, return false. Adds sets of contingencies to map.
+     *
+     * @param time The time slot the vectors belong to.
+     * @param unresolvedVectors The StateVectors that are to be resolved into
+     * zero or more sets of contingencies.
+     * @return True if all vectors could be resolved. False if one of them
+     * deadlocks, or if another thread has found a deadlock in the meantime.
+     */
+    private boolean resolveVectors(int time, Set<StateVector> unresolvedVectors) {
+        return unresolvedVectors.stream()
+                .allMatch((vector) -> {
+                    checkpoint();
+                    return !deadlockFound.get()
+                            && (!markResolved(vector) || resolveVector(vector, recordVisit(time, vector)));
+                });
+    }
+
+    private int recordVisit(int time, StateVector vector) {
+        return recorder == null ? TraceRecorder.NO_PARENT : recorder.recordVisit(time, vector);
+    }
+
+    /**
+     * Check if the Automata can advance past the StateVector or if there is a
+     * dead lock situation. If the vector deadlocks, method returns false.
+     * Otherwise, adds a time slot to the frontier for each of its successors.
+     *
+     * @param unresolvedVector A point in the Automata's runtimes where they
+     * have IO transitions. At these points a deadlock might be detected.
+     * @param visit The visit id of the vector if a trace is being recorded.
+     * @return True if the provided StateVector could be resolved, false if a
+     * deadlock was detected. The vector must already have been added to the
+     * resolved vectors, so no other thread resolves it at the same time.
+     */
+    private boolean resolveVector(StateVector unresolvedVector, int visit) {
+        VectorResolution resolution = caching ? resolutionCache.get(unresolvedVector) : null;
+        if (resolution == null) {
+            resolution = calculateResolution(unresolvedVector);
+            if (caching) {
+                resolutionCache.put(unresolvedVector, resolution);
+            }
+        }
+        if (resolution.deadlocks()) {
+            if (deadlockFound.compareAndSet(false, true)) {
+                deadlockVisit = visit;
+                log = "Deadlocks at: " + describe(unresolvedVector);
+            }
+            return false;
+        }
+        for (StateVector vector : resolution.getSuccessors()) {
+            addSlot(vector, visit);
+        }
         return true;
     }
-    
+
+    /**
+     * Works out where the Automata can go from the given StateVector. The
+     * Automata can advance if any two of them can synchronize, or if every one
+     * of them has a Transition without IO. Follows through all the IO
+     * operations between every two processes, or only between the processes
+     * of a stubborn set if partial-order reduction is on.
+     *
+     * @param unresolvedVector The vector to resolve.
+     * @return The successors of the vector, and whether it deadlocks.
+     */
+    private VectorResolution calculateResolution(StateVector unresolvedVector) {
+        final State[] states = new State[processes.length];
+        boolean allHaveNonIO = true;
+        for (int i = 0; i < processes.length; i++) {
+            states[i] = numberings[i].getState(unresolvedVector.getStateId(i));
+            allHaveNonIO &= states[i].hasNonIOTransitions();
+        }
+        final boolean[] members = stubbornSets == null ? null : stubbornSets.choose(unresolvedVector, states);
+        final List<StateVector> successors = new ArrayList<>();
+        for (int i = 0; i < processes.length; i++) {
+            for (int j = i + 1; j < processes.length; j++) {
+                if (members != null && !(members[i] && members[j])) {
+                    continue;
+                }
+                final StatePair pair = new StatePair(states[i], states[j]);
+                if (!pair.canSynchronize()) {
+                    continue;
+                }
+                for (StatePair targets : pair.doIOOperations()) {
+                    final int[] ids = unresolvedVector.toArray();
+                    ids[i] = idOf(i, targets.getState1());
+                    ids[j] = idOf(j, targets.getState2());
+                    successors.add(new StateVector(ids));
+                }
+            }
+        }
+        return new VectorResolution(successors.toArray(new StateVector[successors.size()]),
+                successors.isEmpty() && !allHaveNonIO);
+    }
+
+    /**
+     * Works out the ids of the contingencies of every numbered State, before
+     * the search starts, so the threads of the search only read them. A sink
+     * is its own contingency.
+     */
+    private void collectContingencyIds() {
+        contingencyIds = new int[processes.length][][];
+        for (int i = 0; i < processes.length; i++) {
+            final int process = i;
+            contingencyIds[i] = new int[numberings[i].size()][];
+            for (int id = 0; id < contingencyIds[i].length; id++) {
+                contingencyIds[i][id] = id == sinkIds[i] ? new int[]{id}
+                        : numberings[i].getState(id).collectContingencies().stream()
+                                .mapToInt((cont) -> idOf(process, cont)).distinct().toArray();
+            }
+        }
+    }
+
+    /**
+     * The ids of the contingencies a process can reach in one time period,
+     * provided it starts out in the State with the given id.
+     *
+     * @param process The process.
+     * @param id The id of the State the process starts out in.
+     * @return The ids, without duplicates. Must not be modified.
+     */
+    private int[] contingenciesOf(int process, int id) {
+        return contingencyIds[process][id];
+    }
+
     /**
-     * Sets up the contingencies map with all the contingencies possible at time
-     * zero.
+     * @return The id of the given State within the given process. Every sink
+     * gets the same id. Every other State reachable from the start state has
+     * been numbered up front, so the numberings are only read during the
+     * search and can be shared between threads.
      */
-    private void setupContingencies(int time) {
-        contingenciesMap.put(time, getInitialContingencies(time));
+    private int idOf(int process, State state) {
+        return state instanceof SinkState ? sinkIds[process] : numberings[process].indexOf(state);
     }
 
     /**
-     * At the start of execution, Automata 1 and 2 are in a StatePair with their
-     * starting states. This method returns all Contingencies reachable from the
-     * starting time.
+     * Rebuilds the shortest sequence of synchronizations that leads to the
+     * deadlock that was found. Only the path itself was recorded, so every
+     * step is found again by looking for a pair of IO Transitions that leads
+     * from one vector on the path to the next.
      *
-     * @param time The starting time.
-     * @return The Set of contingencies reachable from the starting states.
+     * @return The synchronizations, in order. Empty if no deadlock was found,
+     * or if trace recording was not enabled.
+     */
+    public List<SyncStep> getTrace() {
+        final List<SyncStep> trace = new ArrayList<>();
+        if (recorder == null || deadlockVisit == TraceRecorder.NO_PARENT) {
+            return trace;
+        }
+        final List<StateVector> path = recorder.getPath(deadlockVisit);
+        for (int i = 1; i < path.size(); i++) {
+            trace.add(findStep(path.get(i - 1), path.get(i)));
+        }
+        return trace;
+    }
+
+    /**
+     * Finds two IO Transitions that lead from one vector to another: after the
+     * two processes take them, every process can reach its State in the
+     * second vector without further IO.
+     */
+    private SyncStep findStep(StateVector from, StateVector to) {
+        for (int i = 0; i < processes.length; i++) {
+            for (int j = i + 1; j < processes.length; j++) {
+                final State state1 = numberings[i].getState(from.getStateId(i));
+                final State state2 = numberings[j].getState(from.getStateId(j));
+                final List<SyncStep> candidates = new ArrayList<>();
+                final int process1 = i;
+                final int process2 = j;
+                state1.getChannelIndex().forEachSynchronization(state2.getChannelIndex(), (trans1, trans2) -> {
+                    candidates.add(new SyncStep(process1, trans1, process2, trans2));
+                });
+                for (SyncStep candidate : candidates) {
+                    final int[] ids = from.toArray();
+                    ids[i] = idOf(i, candidate.getTransition1().getTargetState());
+                    ids[j] = idOf(j, candidate.getTransition2().getTargetState());
+                    if (leadsTo(new StateVector(ids), to)) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("No synchronization leads from " + describe(from) + " to " + describe(to));
+    }
+
+    private boolean leadsTo(StateVector successor, StateVector target) {
+        final boolean[] reached = new boolean[processes.length];
+        for (int process = 0; process < processes.length; process++) {
+            for (int id : contingenciesOf(process, successor.getStateId(process))) {
+                reached[process] |= id == target.getStateId(process);
+            }
+        }
+        for (boolean processReached : reached) {
+            if (!processReached) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String describe(StateVector vector) {
+        final StringBuilder builder = new StringBuilder("(");
+        for (int i = 0; i < vector.size(); i++) {
+            builder.append(i == 0 ? "" : ", ").append(numberings[i].getState(vector.getStateId(i)));
+        }
+        return builder.append(')').toString();
+    }
+
+    /**
+     * @return The vector in which every process is in its start state.
      */
-    private Set<Contingency> getInitialContingencies(int time) {
-        final StatePair startStatePair = new StatePair(process1.getStartState(), process2.getStartState());
-        return startStatePair.gatherContingencies(time);
+    private StateVector getStartVector() {
+        final int[] startIds = new int[processes.length];
+        for (int i = 0; i < processes.length; i++) {
+            startIds[i] = numberings[i].indexOf(startStates[i]);
+        }
+        return new StateVector(startIds);
     }
 }
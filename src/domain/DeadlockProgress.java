@@ -0,0 +1,49 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * A snapshot of how far a {@link DeadlockFinder} has come.
+ *
+ * @author Arjan
+ */
+public class DeadlockProgress {
+
+    private final long resolvedCount;
+    private final int frontierSize;
+    private final long elapsedNanos;
+
+    /**
+     * @param resolvedCount The number of StateVectors resolved so far.
+     * @param frontierSize The number of time slots waiting to be resolved.
+     * @param elapsedNanos The time spent searching so far.
+     */
+    public DeadlockProgress(long resolvedCount, int frontierSize, long elapsedNanos) {
+        this.resolvedCount = resolvedCount;
+        this.frontierSize = frontierSize;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getResolvedCount() {
+        return resolvedCount;
+    }
+
+    public int getFrontierSize() {
+        return frontierSize;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "Explored " + resolvedCount + " states, " + frontierSize + " waiting, "
+                + (elapsedNanos / 1_000_000) + " ms";
+    }
+
+}
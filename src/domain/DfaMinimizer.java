@@ -0,0 +1,241 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimizes finite automata with Hopcroft's partition refinement algorithm.
+ * States are first split into accepting and rejecting States, after which
+ * blocks keep being split by their predecessors on a symbol until every block
+ * holds only States that accept exactly the same words. Each split puts only
+ * the smaller half back on the worklist, which keeps the total running time at
+ * O(n log n) per symbol.
+ *
+ * @author Arjan
+ */
+public class DfaMinimizer {
+
+    private static final int DEAD = -1;
+
+    private DfaMinimizer() {
+    }
+
+    /**
+     * Calculates the minimal DFA that accepts the same language as the given
+     * Automaton. Unreachable States are left out, just like States from which
+     * no terminator can be reached. A nondeterministic Automaton is
+     * determinized first. The States of the result are named after the States
+     * they stand for: either the name of the original State, or a list of
+     * names such as "{A,B}" for a set of NFA States.
+     *
+     * @param automaton A DFA or NFA.
+     * @return A new, minimal DFA. The given Automaton is not modified.
+     * @throws IllegalArgumentException If the Automaton has stack or IO
+     * Transitions.
+     */
+    @SuppressWarnings("deprecation")
+    public static Automaton minimize(Automaton automaton) {
+        final AutomatonType type = automaton.getTypeProperty().get();
+        if (type != AutomatonType.DFA && type != AutomatonType.NFA) {
+            throw new IllegalArgumentException("Only finite automata can be minimized, not a " + type);
+        }
+        final StateNumbering numbering = new StateNumbering(automaton.getStartState());
+        final NfaBitsets nfa = new NfaBitsets(automaton, numbering);
+        final Alphabet alphabet = nfa.getAlphabet();
+        final Map<BitsetKey, Integer> ids = new HashMap<>();
+        final List<long[]> sets = new ArrayList<>();
+        final List<int[]> rows = new ArrayList<>();
+        ids.put(new BitsetKey(nfa.getStartSet()), 0);
+        sets.add(nfa.getStartSet());
+        long[] scratch = new long[nfa.getWordCount()];
+        for (int i = 0; i < sets.size(); i++) {
+            final int[] row = new int[alphabet.size()];
+            for (int column = 0; column < row.length; column++) {
+                if (!nfa.step(sets.get(i), column, scratch)) {
+                    row[column] = DEAD;
+                    continue;
+                }
+                final BitsetKey key = new BitsetKey(scratch);
+                final Integer known = ids.get(key);
+                if (known != null) {
+                    row[column] = known;
+                } else {
+                    row[column] = sets.size();
+                    ids.put(key, sets.size());
+                    sets.add(scratch);
+                    scratch = new long[nfa.getWordCount()];
+                }
+            }
+            rows.add(row);
+        }
+        final long[] accepting = new long[(sets.size() + 63) >>> 6];
+        for (int i = 0; i < sets.size(); i++) {
+            if (nfa.isAccepting(sets.get(i))) {
+                accepting[i >>> 6] |= 1L << i;
+            }
+        }
+        final int[][] table = rows.toArray(new int[rows.size()][]);
+        final int[] blocks = minimize(table, accepting, alphabet.size());
+        final int[] representatives = new int[table.length];
+        final String[] names = new String[table.length];
+        for (int i = table.length - 1; i >= 0; i--) {
+            if (blocks[i] != DEAD) {
+                representatives[blocks[i]] = i;
+                names[blocks[i]] = nameOf(sets.get(i), numbering);
+            }
+        }
+        final String name = automaton.getName() == null ? null : automaton.getName() + "_min";
+        final Automaton minimal = new Automaton(name, new State(nameOf(sets.get(0), numbering)));
+        for (int i = 0; i < table.length; i++) {
+            if (blocks[i] == DEAD || representatives[blocks[i]] != i) {
+                continue;
+            }
+            for (int column = 0; column < alphabet.size(); column++) {
+                final int target = table[i][column];
+                if (target != DEAD && blocks[target] != DEAD) {
+                    minimal.addTransition(names[blocks[i]], names[blocks[target]],
+                            String.valueOf(alphabet.getSymbol(column)), Transition.EPSILON, Transition.EPSILON);
+                }
+            }
+            if ((accepting[i >>> 6] & (1L << i)) != 0) {
+                minimal.addEndState(names[blocks[i]]);
+            }
+        }
+        return minimal;
+    }
+
+    private static String nameOf(long[] set, StateNumbering numbering) {
+        final StringBuilder builder = new StringBuilder();
+        int count = 0;
+        for (int word = 0; word < set.length; word++) {
+            long bits = set[word];
+            while (bits != 0) {
+                final int state = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                builder.append(count++ == 0 ? "" : ",").append(numbering.getState(state).getName());
+            }
+        }
+        return count == 1 ? builder.toString() : "{" + builder + "}";
+    }
+
+    /**
+     * Partitions the States of a DFA transition table into blocks of
+     * equivalent States. The table is completed with a dead State first, so
+     * States that can never reach an accepting State end up in the same block
+     * as the dead State.
+     *
+     * @param table The transition table, one row per State and one column per
+     * symbol. A cell holds the target State, or -1 if there is none.
+     * @param accepting The accepting States, as a bitset.
+     * @param symbolCount The number of columns of the table.
+     * @return For every State, the block it belongs to, or -1 if it is
+     * equivalent to the dead State. Blocks are numbered in order of the first
+     * State they contain, so State 0 gets block 0 unless it is dead.
+     */
+    public static int[] minimize(int[][] table, long[] accepting, int symbolCount) {
+        final int dead = table.length;
+        final int size = table.length + 1;
+        final int[] predecessorStart = new int[symbolCount * size + 1];
+        for (int state = 0; state < table.length; state++) {
+            for (int column = 0; column < symbolCount; column++) {
+                predecessorStart[column * size + target(table, state, column, dead) + 1]++;
+            }
+        }
+        for (int column = 0; column < symbolCount; column++) {
+            predecessorStart[column * size + dead + 1]++;
+        }
+        for (int i = 1; i < predecessorStart.length; i++) {
+            predecessorStart[i] += predecessorStart[i - 1];
+        }
+        final int[] predecessors = new int[symbolCount * size];
+        final int[] fill = predecessorStart.clone();
+        for (int state = 0; state < size; state++) {
+            for (int column = 0; column < symbolCount; column++) {
+                predecessors[fill[column * size + target(table, state, column, dead)]++] = state;
+            }
+        }
+
+        final Partition partition = new Partition(size);
+        for (int state = 0; state < table.length; state++) {
+            if ((accepting[state >>> 6] & (1L << state)) != 0) {
+                partition.mark(state);
+            }
+        }
+        final boolean[] onWorklist = new boolean[size * Math.max(symbolCount, 1)];
+        final int[] worklist = new int[size * Math.max(symbolCount, 1)];
+        int pending = 0;
+        final int[] initial = partition.splitMarked();
+        if (initial.length > 0) {
+            final int smaller = partition.getBlockSize(initial[0]) <= partition.getBlockSize(initial[1])
+                    ? initial[0] : initial[1];
+            for (int column = 0; column < symbolCount; column++) {
+                onWorklist[smaller * symbolCount + column] = true;
+                worklist[pending++] = smaller * symbolCount + column;
+            }
+        }
+
+        final int[] splitter = new int[size];
+        while (pending > 0) {
+            final int entry = worklist[--pending];
+            onWorklist[entry] = false;
+            final int block = entry / symbolCount;
+            final int column = entry % symbolCount;
+            final int splitterSize = partition.getBlockSize(block);
+            for (int i = 0; i < splitterSize; i++) {
+                splitter[i] = partition.getElement(block, i);
+            }
+            for (int i = 0; i < splitterSize; i++) {
+                final int key = column * size + splitter[i];
+                for (int p = predecessorStart[key]; p < predecessorStart[key + 1]; p++) {
+                    partition.mark(predecessors[p]);
+                }
+            }
+            final int[] splits = partition.splitMarked();
+            for (int i = 0; i < splits.length; i += 2) {
+                final int old = splits[i];
+                final int split = splits[i + 1];
+                for (int c = 0; c < symbolCount; c++) {
+                    final int added = onWorklist[old * symbolCount + c]
+                            || partition.getBlockSize(split) <= partition.getBlockSize(old) ? split : old;
+                    onWorklist[added * symbolCount + c] = true;
+                    worklist[pending++] = added * symbolCount + c;
+                }
+            }
+        }
+
+        final int deadBlock = partition.getBlock(dead);
+        final int[] numbers = new int[size];
+        Arrays.fill(numbers, DEAD);
+        final int[] blocks = new int[table.length];
+        int blockCount = 0;
+        for (int state = 0; state < table.length; state++) {
+            final int block = partition.getBlock(state);
+            if (block == deadBlock) {
+                blocks[state] = DEAD;
+            } else {
+                if (numbers[block] == DEAD) {
+                    numbers[block] = blockCount++;
+                }
+                blocks[state] = numbers[block];
+            }
+        }
+        return blocks;
+    }
+
+    private static int target(int[][] table, int state, int column, int dead) {
+        if (state == dead || table[state][column] == DEAD) {
+            return dead;
+        }
+        return table[state][column];
+    }
+
+}
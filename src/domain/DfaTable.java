@@ -0,0 +1,134 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A deterministic finite automaton compiled into a dense transition table.
+ * Every row is a State, every column an input symbol. Running a word through
+ * the table costs one array lookup per character and creates no objects.
+ *
+ * @author Arjan
+ */
+public class DfaTable {
+
+    private static final int DEAD = -1;
+
+    private final Alphabet alphabet;
+    private final int[][] table;
+    private final long[] accepting;
+
+    private DfaTable(Alphabet alphabet, int[][] table, long[] accepting) {
+        this.alphabet = alphabet;
+        this.table = table;
+        this.accepting = accepting;
+    }
+
+    /**
+     * Compiles the given Automaton into a minimal transition table. Only
+     * States reachable from the start state are included, and equivalent
+     * States share a row.
+     *
+     * @param automaton A deterministic Automaton without stack or IO
+     * Transitions.
+     * @return The compiled table.
+     * @throws IllegalArgumentException If a State has two Transitions on the
+     * same symbol, or has an epsilon Transition.
+     */
+    public static DfaTable compile(Automaton automaton) {
+        final StateNumbering numbering = new StateNumbering(automaton.getStartState());
+        final Alphabet alphabet = new Alphabet(numbering);
+        final int[][] table = new int[numbering.size()][alphabet.size()];
+        final long[] accepting = new long[(numbering.size() + 63) >>> 6];
+        for (int i = 0; i < numbering.size(); i++) {
+            final State state = numbering.getState(i);
+            Arrays.fill(table[i], DEAD);
+            if (automaton.terminatesAt(state)) {
+                accepting[i >>> 6] |= 1L << i;
+            }
+            final Iterator<Transition> itTrans = state.getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (trans.takesNoInput()) {
+                    throw new IllegalArgumentException("A DFA can't have epsilon transitions: " + trans);
+                } else if (Alphabet.readsSymbol(trans)) {
+                    final int column = alphabet.indexOf(trans.getInputChar());
+                    final int target = numbering.indexOf(trans.getTargetState());
+                    if (table[i][column] != DEAD && table[i][column] != target) {
+                        throw new IllegalArgumentException("A DFA can't have two transitions on the same symbol: " + trans);
+                    }
+                    table[i][column] = target;
+                }
+            }
+        }
+        return minimized(alphabet, table, accepting);
+    }
+
+    /**
+     * Merges equivalent rows of the given table, so that the table that is
+     * run is as small as possible and more of it stays in the processor
+     * cache.
+     */
+    private static DfaTable minimized(Alphabet alphabet, int[][] table, long[] accepting) {
+        final int[] blocks = DfaMinimizer.minimize(table, accepting, alphabet.size());
+        int blockCount = 0;
+        for (int block : blocks) {
+            blockCount = Math.max(blockCount, block + 1);
+        }
+        final int[][] minimalTable = new int[Math.max(blockCount, 1)][];
+        final long[] minimalAccepting = new long[(minimalTable.length + 63) >>> 6];
+        if (blockCount == 0) {
+            minimalTable[0] = new int[alphabet.size()];
+            Arrays.fill(minimalTable[0], DEAD);
+        }
+        for (int i = 0; i < table.length; i++) {
+            final int block = blocks[i];
+            if (block == DEAD || minimalTable[block] != null) {
+                continue;
+            }
+            minimalTable[block] = new int[alphabet.size()];
+            for (int column = 0; column < alphabet.size(); column++) {
+                minimalTable[block][column] = table[i][column] == DEAD ? DEAD : blocks[table[i][column]];
+            }
+            if ((accepting[i >>> 6] & (1L << i)) != 0) {
+                minimalAccepting[block >>> 6] |= 1L << block;
+            }
+        }
+        return new DfaTable(alphabet, minimalTable, minimalAccepting);
+    }
+
+    /**
+     * @return The number of rows of the table, after minimization.
+     */
+    public int getStateCount() {
+        return table.length;
+    }
+
+    /**
+     * Runs the given input through the table.
+     *
+     * @param input The word/input string to be checked.
+     * @return True if the input is accepted.
+     */
+    public boolean accepts(CharSequence input) {
+        int state = 0;
+        for (int i = 0; i < input.length(); i++) {
+            final int column = alphabet.indexOf(input.charAt(i));
+            if (column < 0) {
+                return false;
+            }
+            state = table[state][column];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        return (accepting[state >>> 6] & (1L << state)) != 0;
+    }
+
+}
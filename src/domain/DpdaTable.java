@@ -0,0 +1,149 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A deterministic pushdown automaton compiled into a lookup table, indexed by
+ * State, input symbol and the symbol on top of the stack. A deterministic
+ * automaton only ever has one Configuration, so acceptance is a single run
+ * over the input with a stack of primitive chars. Apart from that stack,
+ * nothing is allocated while parsing.
+ *
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Arjan
+ */
+public class DpdaTable {
+
+    private static final int NONE = -1;
+    private static final int INITIAL_STACK_SIZE = 16;
+
+    private final Alphabet alphabet;
+    private final int stackColumns;
+    private final int[] table;
+    private final int[] targets;
+    private final boolean[] pops;
+    private final int[] pushes;
+    private final long[] accepting;
+
+    /**
+     * Compiles the given Automaton. Only States reachable from the start state
+     * are included.
+     *
+     * @param automaton A deterministic Automaton without IO Transitions.
+     * @throws IllegalArgumentException If the Automaton has an epsilon
+     * Transition, or two Transitions that apply to the same State, input
+     * symbol and stack top.
+     */
+    public DpdaTable(Automaton automaton) {
+        final StateNumbering numbering = new StateNumbering(automaton.getStartState());
+        this.alphabet = new Alphabet(numbering);
+        final Map<Character, Integer> stackSymbols = new HashMap<>();
+        int moveCount = 0;
+        for (int i = 0; i < numbering.size(); i++) {
+            final Iterator<Transition> itTrans = numbering.getState(i).getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (trans.takesNoInput()) {
+                    throw new IllegalArgumentException("A DPDA can't have epsilon transitions: " + trans);
+                } else if (Alphabet.readsSymbol(trans)) {
+                    moveCount++;
+                    if (trans.readsFromStack()) {
+                        symbolIndex(stackSymbols, trans.getReadFromStack());
+                    }
+                    if (trans.writesToStack()) {
+                        symbolIndex(stackSymbols, trans.getWriteToStack());
+                    }
+                }
+            }
+        }
+        this.stackColumns = stackSymbols.size() + 1;
+        this.table = new int[numbering.size() * alphabet.size() * stackColumns];
+        Arrays.fill(table, NONE);
+        this.targets = new int[moveCount];
+        this.pops = new boolean[moveCount];
+        this.pushes = new int[moveCount];
+        this.accepting = new long[(numbering.size() + 63) >>> 6];
+        int move = 0;
+        for (int i = 0; i < numbering.size(); i++) {
+            final State state = numbering.getState(i);
+            if (automaton.terminatesAt(state)) {
+                accepting[i >>> 6] |= 1L << i;
+            }
+            final Iterator<Transition> itTrans = state.getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (!Alphabet.readsSymbol(trans)) {
+                    continue;
+                }
+                targets[move] = numbering.indexOf(trans.getTargetState());
+                pops[move] = trans.readsFromStack();
+                pushes[move] = trans.writesToStack() ? stackSymbols.get(trans.getWriteToStack()) : NONE;
+                final int row = (i * alphabet.size() + alphabet.indexOf(trans.getInputChar())) * stackColumns;
+                if (trans.readsFromStack()) {
+                    claim(row + stackSymbols.get(trans.getReadFromStack()), move, trans);
+                } else {
+                    for (int top = 0; top < stackColumns; top++) {
+                        claim(row + top, move, trans);
+                    }
+                }
+                move++;
+            }
+        }
+    }
+
+    private static int symbolIndex(Map<Character, Integer> symbols, char symbol) {
+        return symbols.computeIfAbsent(symbol, (key) -> symbols.size());
+    }
+
+    private void claim(int cell, int move, Transition trans) {
+        if (table[cell] != NONE) {
+            throw new IllegalArgumentException("A DPDA can't have two transitions for the same stack top: " + trans);
+        }
+        table[cell] = move;
+    }
+
+    /**
+     * Runs the given input through the automaton.
+     *
+     * @param input The word/input string to be checked.
+     * @return True if the input is accepted.
+     */
+    public boolean accepts(CharSequence input) {
+        char[] stack = new char[INITIAL_STACK_SIZE];
+        int depth = 0;
+        int state = 0;
+        for (int i = 0; i < input.length(); i++) {
+            final int column = alphabet.indexOf(input.charAt(i));
+            if (column < 0) {
+                return false;
+            }
+            final int top = depth == 0 ? stackColumns - 1 : stack[depth - 1];
+            final int move = table[(state * alphabet.size() + column) * stackColumns + top];
+            if (move == NONE) {
+                return false;
+            }
+            if (pops[move]) {
+                depth--;
+            }
+            if (pushes[move] != NONE) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = (char) pushes[move];
+            }
+            state = targets[move];
+        }
+        return (accepting[state >>> 6] & (1L << state)) != 0;
+    }
+
+}
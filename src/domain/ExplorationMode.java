@@ -0,0 +1,45 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * The ways in which a {@link DeadlockFinder} can walk through the state space
+ * of the processes it analyses.
+ *
+ * @author Arjan
+ */
+public enum ExplorationMode {
+
+    /**
+     * Time slots are resolved one by one, on the calling thread.
+     */
+    SEQUENTIAL,
+    /**
+     * Time slots are resolved level by level. All slots of one level are
+     * resolved at the same time on the common fork/join pool, and the search
+     * stops on every thread as soon as one of them finds a deadlock.
+     */
+    PARALLEL,
+    /**
+     * Sets of vectors are represented as binary decision diagrams, and every
+     * step explores the successors of a whole set at once. Handles state
+     * spaces far too large to enumerate, as long as their structure is
+     * regular. Partial-order reduction, incremental reverification and traces
+     * are not available in this mode.
+     */
+    SYMBOLIC,
+    /**
+     * Vectors are resolved one by one, on the calling thread, in breadth first
+     * order. The vectors that have been seen and the ones that wait to be
+     * resolved are kept in memory mapped files instead of on the heap, so the
+     * search is limited by disk space rather than by memory. Vectors that
+     * don't fit in 64 bits are searched as in {@link #SEQUENTIAL} mode.
+     * Incremental reverification and traces are not available in this mode.
+     */
+    DISK_BACKED;
+
+}
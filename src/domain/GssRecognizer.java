@@ -0,0 +1,279 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides acceptance for a nondeterministic pushdown automaton using a graph
+ * structured stack, in the style of a GLR parser. Instead of keeping every
+ * stack of every Configuration, all stacks are merged into one graph. A node
+ * of the graph is a stack symbol; its predecessors are the possible stacks
+ * below it. Two pushes of the same symbol, into the same State, at the same
+ * input position, share one node, because everything that happens until that
+ * symbol is popped again is the same for both.
+ *
+ * At every input position there are at most (States x stack symbols) new
+ * nodes, so the search always terminates, also for epsilon Transitions that
+ * push in a loop, and takes polynomial time in the length of the input.
+ *
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Arjan
+ */
+public class GssRecognizer {
+
+    private static final int NONE = -1;
+
+    private final Alphabet alphabet;
+    private final int stateCount;
+    private final long[] accepting;
+    private final int[] targets;
+    private final int[] pops;
+    private final int[] pushes;
+    private final int[][] epsilonMoves;
+    private final int[][][] symbolMoves;
+
+    /**
+     * Compiles the given Automaton. Only States reachable from the start state
+     * are included.
+     *
+     * @param automaton An Automaton without IO Transitions.
+     */
+    public GssRecognizer(Automaton automaton) {
+        final StateNumbering numbering = new StateNumbering(automaton.getStartState());
+        this.alphabet = new Alphabet(numbering);
+        this.stateCount = numbering.size();
+        this.accepting = new long[(stateCount + 63) >>> 6];
+        this.epsilonMoves = new int[stateCount][0];
+        this.symbolMoves = new int[stateCount][alphabet.size()][0];
+        final Map<Character, Integer> stackSymbols = new HashMap<>();
+        final List<Transition> moves = new ArrayList<>();
+        for (int i = 0; i < stateCount; i++) {
+            final State state = numbering.getState(i);
+            if (automaton.terminatesAt(state)) {
+                accepting[i >>> 6] |= 1L << i;
+            }
+            final Iterator<Transition> itTrans = state.getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (trans.takesNoInput()) {
+                    epsilonMoves[i] = append(epsilonMoves[i], moves.size());
+                } else if (Alphabet.readsSymbol(trans)) {
+                    final int column = alphabet.indexOf(trans.getInputChar());
+                    symbolMoves[i][column] = append(symbolMoves[i][column], moves.size());
+                } else {
+                    continue;
+                }
+                moves.add(trans);
+            }
+        }
+        this.targets = new int[moves.size()];
+        this.pops = new int[moves.size()];
+        this.pushes = new int[moves.size()];
+        for (int i = 0; i < moves.size(); i++) {
+            final Transition trans = moves.get(i);
+            targets[i] = numbering.indexOf(trans.getTargetState());
+            pops[i] = trans.readsFromStack() ? symbolIndex(stackSymbols, trans.getReadFromStack()) : NONE;
+            pushes[i] = trans.writesToStack() ? symbolIndex(stackSymbols, trans.getWriteToStack()) : NONE;
+        }
+    }
+
+    private static int symbolIndex(Map<Character, Integer> symbols, char symbol) {
+        return symbols.computeIfAbsent(symbol, (key) -> symbols.size());
+    }
+
+    private static int[] append(int[] array, int value) {
+        final int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+
+    /**
+     * Runs the given input through the automaton.
+     *
+     * @param input The word/input string to be checked.
+     * @return True if the input is accepted.
+     */
+    public boolean accepts(CharSequence input) {
+        return new Run().accepts(input);
+    }
+
+    /**
+     * A node of the graph structured stack.
+     */
+    private static class Node {
+
+        private final int symbol;
+        private final int position;
+        private final Set<Node> below = new HashSet<>();
+        private int[] poppedBy = new int[0];
+
+        Node(int symbol, int position) {
+            this.symbol = symbol;
+            this.position = position;
+        }
+
+    }
+
+    /**
+     * A State together with the stack it is on top of.
+     */
+    private static class Head {
+
+        private final int state;
+        private final Node node;
+
+        Head(int state, Node node) {
+            this.state = state;
+            this.node = node;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * state + System.identityHashCode(node);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Head other = (Head) obj;
+            return state == other.state && node == other.node;
+        }
+
+    }
+
+    /**
+     * The mutable bookkeeping of one call to {@link #accepts}.
+     */
+    private class Run {
+
+        private final Node bottom = new Node(NONE, 0);
+        private int position = 0;
+        private Set<Head> heads = new HashSet<>();
+        private Set<Head> nextHeads = new HashSet<>();
+        private Map<Integer, Node> nodes = new HashMap<>();
+        private Map<Integer, Node> nextNodes = new HashMap<>();
+        private final Deque<Head> worklist = new ArrayDeque<>();
+
+        boolean accepts(CharSequence input) {
+            heads.add(new Head(0, bottom));
+            includeEpsilonClosure();
+            for (int i = 0; i < input.length(); i++) {
+                final int column = alphabet.indexOf(input.charAt(i));
+                if (column < 0) {
+                    return false;
+                }
+                consumeSymbol(column);
+                if (heads.isEmpty()) {
+                    return false;
+                }
+                includeEpsilonClosure();
+            }
+            return heads.stream().anyMatch((head) -> (accepting[head.state >>> 6] & (1L << head.state)) != 0);
+        }
+
+        /**
+         * Performs all epsilon Transitions from the heads at the current
+         * position, until no new heads are found.
+         */
+        private void includeEpsilonClosure() {
+            worklist.addAll(heads);
+            while (!worklist.isEmpty()) {
+                final Head head = worklist.poll();
+                for (int move : epsilonMoves[head.state]) {
+                    if (pops[move] == NONE) {
+                        applyAfterPop(move, head.node, false);
+                    } else if (head.node.symbol == pops[move]) {
+                        if (head.node.position == position) {
+                            head.node.poppedBy = append(head.node.poppedBy, move);
+                        }
+                        for (Node below : new ArrayList<>(head.node.below)) {
+                            applyAfterPop(move, below, false);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Moves all heads at the current position over the given symbol, and
+         * advances to the next position.
+         */
+        private void consumeSymbol(int column) {
+            for (Head head : heads) {
+                for (int move : symbolMoves[head.state][column]) {
+                    if (pops[move] == NONE) {
+                        applyAfterPop(move, head.node, true);
+                    } else if (head.node.symbol == pops[move]) {
+                        for (Node below : head.node.below) {
+                            applyAfterPop(move, below, true);
+                        }
+                    }
+                }
+            }
+            final Set<Head> swapHeads = heads;
+            heads = nextHeads;
+            nextHeads = swapHeads;
+            nextHeads.clear();
+            final Map<Integer, Node> swapNodes = nodes;
+            nodes = nextNodes;
+            nextNodes = swapNodes;
+            nextNodes.clear();
+            position++;
+        }
+
+        /**
+         * Finishes a Transition whose pop, if any, has already been done.
+         *
+         * @param move The Transition.
+         * @param stack The stack after popping.
+         * @param consumes True if the Transition consumes an input symbol, so
+         * the result belongs to the next position.
+         */
+        private void applyAfterPop(int move, Node stack, boolean consumes) {
+            final Set<Head> target = consumes ? nextHeads : heads;
+            if (pushes[move] == NONE) {
+                addHead(target, targets[move], stack);
+                return;
+            }
+            final Map<Integer, Node> table = consumes ? nextNodes : nodes;
+            final int key = pushes[move] * stateCount + targets[move];
+            Node pushed = table.get(key);
+            if (pushed == null) {
+                pushed = new Node(pushes[move], consumes ? position + 1 : position);
+                table.put(key, pushed);
+            }
+            if (pushed.below.add(stack)) {
+                for (int popper : pushed.poppedBy) {
+                    applyAfterPop(popper, stack, false);
+                }
+            }
+            addHead(target, targets[move], pushed);
+        }
+
+        private void addHead(Set<Head> target, int state, Node node) {
+            final Head head = new Head(state, node);
+            if (target.add(head) && target == heads) {
+                worklist.add(head);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides acceptance for a nondeterministic finite automaton by determinizing
+ * it on the fly. Every set of NFA States that is reached while parsing is
+ * interned as a DFA state the first time it is seen, and its outgoing
+ * transitions are cached as they are computed. Words that walk through known
+ * territory therefore cost one table lookup per character.
+ *
+ * The cache is bounded. When it is full, it is flushed completely and built up
+ * again from the words that follow.
+ *
+ * @author Arjan
+ */
+public class LazyDfa {
+
+    /**
+     * The cache size used when none is specified: 4 MiB.
+     */
+    public static final long DEFAULT_CACHE_BYTES = 4L << 20;
+
+    private static final int UNKNOWN = -1;
+    private static final int DEAD = -2;
+
+    private final NfaBitsets nfa;
+    private final Alphabet alphabet;
+    private final long[] startSet;
+    private final int cacheLimit;
+
+    private final Map<BitsetKey, Integer> ids = new HashMap<>();
+    private final List<long[]> sets = new ArrayList<>();
+    private final List<int[]> next = new ArrayList<>();
+    private final BitSet acceptingSets = new BitSet();
+    private long[] scratch;
+    private int flushCount = 0;
+
+    /**
+     * Prepares the given NFA for lazy determinization.
+     *
+     * @param nfa The compiled NFA.
+     * @param cacheBytes The approximate amount of memory the cache of DFA
+     * states may use. At least two DFA states are always cached.
+     */
+    public LazyDfa(NfaBitsets nfa, long cacheBytes) {
+        this.nfa = nfa;
+        this.alphabet = nfa.getAlphabet();
+        this.startSet = nfa.getStartSet();
+        this.scratch = new long[nfa.getWordCount()];
+        this.cacheLimit = (int) Math.max(2, Math.min(Integer.MAX_VALUE, cacheBytes / estimatedBytesPerState()));
+    }
+
+    /**
+     * @return A rough estimate of the memory taken by one cached DFA state: its
+     * row of transitions, its set of NFA States and the map entry interning it.
+     */
+    private long estimatedBytesPerState() {
+        return 4L * alphabet.size() + 8L * nfa.getWordCount() + 96;
+    }
+
+    /**
+     * @return The number of times the cache was full and had to be flushed.
+     */
+    public int getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * @return The number of DFA states currently in the cache.
+     */
+    public int getCachedStateCount() {
+        return sets.size();
+    }
+
+    /**
+     * Runs the given input through the lazily built DFA.
+     *
+     * @param input The word/input string to be checked.
+     * @return True if the input is accepted.
+     */
+    public boolean accepts(CharSequence input) {
+        int current = intern(startSet);
+        for (int i = 0; i < input.length(); i++) {
+            final int column = alphabet.indexOf(input.charAt(i));
+            if (column < 0) {
+                return false;
+            }
+            int target = next.get(current)[column];
+            if (target == UNKNOWN) {
+                target = computeTransition(current, column);
+            }
+            if (target == DEAD) {
+                return false;
+            }
+            current = target;
+        }
+        return acceptingSets.get(current);
+    }
+
+    /**
+     * Computes, interns and caches the DFA state reached from the given DFA
+     * state on the given symbol. Flushes the cache first if it is full, in
+     * which case the id of the source state is no longer valid.
+     */
+    private int computeTransition(int source, int column) {
+        if (!nfa.step(sets.get(source), column, scratch)) {
+            next.get(source)[column] = DEAD;
+            return DEAD;
+        }
+        if (!ids.containsKey(new BitsetKey(scratch)) && sets.size() >= cacheLimit) {
+            flush();
+            return intern(scratch);
+        }
+        final int target = intern(scratch);
+        next.get(source)[column] = target;
+        return target;
+    }
+
+    /**
+     * Looks up the DFA state for the given set of NFA States, adding it to the
+     * cache if it is new. A new set takes ownership of the given array.
+     */
+    private int intern(long[] set) {
+        final BitsetKey key = new BitsetKey(set);
+        final Integer known = ids.get(key);
+        if (known != null) {
+            return known;
+        }
+        final int id = sets.size();
+        ids.put(key, id);
+        sets.add(set);
+        final int[] row = new int[alphabet.size()];
+        Arrays.fill(row, UNKNOWN);
+        next.add(row);
+        if (nfa.isAccepting(set)) {
+            acceptingSets.set(id);
+        }
+        if (set == scratch) {
+            scratch = new long[nfa.getWordCount()];
+        }
+        return id;
+    }
+
+    private void flush() {
+        ids.clear();
+        sets.clear();
+        next.clear();
+        acceptingSets.clear();
+        flushCount++;
+    }
+
+}
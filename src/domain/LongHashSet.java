@@ -0,0 +1,131 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * A set of primitive longs, stored in a single array with open addressing and
+ * linear probing. The table is kept between 3/8 and 3/4 full, so an entry
+ * costs 11 to 21 bytes and no object is created per entry. Not thread safe.
+ *
+ * @author Arjan
+ */
+public class LongHashSet {
+
+    private static final long FREE = 0L;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int size = 0;
+    private boolean containsFree = false;
+
+    public LongHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize The number of values the set should be able to hold
+     * before it has to grow.
+     */
+    public LongHashSet(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L < expectedSize * 4L && capacity < 1 << 30) {
+            capacity <<= 1;
+        }
+        this.table = new long[capacity];
+    }
+
+    /**
+     * @param value The value to add.
+     * @return True if the value was not in the set yet.
+     */
+    public boolean add(long value) {
+        if (value == FREE) {
+            if (containsFree) {
+                return false;
+            }
+            containsFree = true;
+            size++;
+            return true;
+        }
+        final int mask = table.length - 1;
+        int slot = mix(value) & mask;
+        while (table[slot] != FREE) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        size++;
+        if (size * 4L > table.length * 3L) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @param value The value to look for.
+     * @return True if the value is in the set.
+     */
+    public boolean contains(long value) {
+        if (value == FREE) {
+            return containsFree;
+        }
+        final int mask = table.length - 1;
+        int slot = mix(value) & mask;
+        while (table[slot] != FREE) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every value and shrinks the table back to its minimum size.
+     */
+    public void clear() {
+        table = new long[MIN_CAPACITY];
+        size = 0;
+        containsFree = false;
+    }
+
+    /**
+     * Doubles the table and puts every value in its new slot.
+     */
+    private void grow() {
+        final long[] old = table;
+        table = new long[old.length * 2];
+        final int mask = table.length - 1;
+        for (long value : old) {
+            if (value != FREE) {
+                int slot = mix(value) & mask;
+                while (table[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of the value over the whole hash, because packed
+     * values often differ only in a few low bits.
+     */
+    private static int mix(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash *= 0xC2B2AE3D27D4EB4FL;
+        return (int) (hash ^ (hash >>> 29));
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A set of longs like {@link LongHashSet}, but with its table in a memory
+ * mapped file instead of on the heap. The operating system keeps the parts of
+ * the table that are in use in memory and writes the rest to disk, so the set
+ * can grow far beyond the size of the heap. The table is split into segments
+ * of at most 128 MiB, because a single mapping can't exceed 2 GiB.
+ *
+ * A small direct-mapped cache on the heap remembers recently seen values.
+ * Values that come up again soon after each other, as duplicates in a search
+ * usually do, are then found without touching the mapped table.
+ *
+ * The file is created in the given directory. It is replaced by a new one
+ * when the table grows, and deleted by {@link #close}.
+ *
+ * @author Arjan
+ */
+public class MappedLongHashSet implements Closeable {
+
+    private static final long FREE = 0L;
+    private static final long MIN_CAPACITY = 1L << 16;
+    private static final int SEGMENT_SHIFT = 24;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    private final File directory;
+    private final long[] recent;
+    private final ScratchFiles scratchFiles = new ScratchFiles();
+    private File file;
+    private RandomAccessFile access;
+    private LongBuffer[] segments;
+    private long capacity;
+    private long size = 0;
+    private boolean containsFree = false;
+
+    /**
+     * Creates an empty set.
+     *
+     * @param directory The directory the table is stored in.
+     * @param cacheSize The number of values the cache on the heap can hold.
+     * Rounded up to a power of two.
+     * @throws IOException If the file for the table can't be created.
+     */
+    public MappedLongHashSet(File directory, int cacheSize) throws IOException {
+        this.directory = directory;
+        this.recent = new long[Integer.highestOneBit(Math.max(1, cacheSize - 1)) << 1];
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * Replaces the table by a new, empty one with the given capacity.
+     */
+    private void allocate(long newCapacity) throws IOException {
+        file = File.createTempFile("visited", ".bin", directory);
+        access = new RandomAccessFile(file, "rw");
+        access.setLength(newCapacity * Long.BYTES);
+        final long segmentLongs = Math.min(newCapacity, 1L << SEGMENT_SHIFT);
+        segments = new LongBuffer[(int) (newCapacity / segmentLongs)];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = access.getChannel()
+                    .map(FileChannel.MapMode.READ_WRITE, i * segmentLongs * Long.BYTES, segmentLongs * Long.BYTES)
+                    .order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+        capacity = newCapacity;
+    }
+
+    private long get(long slot) {
+        return segments[(int) (slot >>> SEGMENT_SHIFT)].get((int) (slot & SEGMENT_MASK));
+    }
+
+    private void set(long slot, long value) {
+        segments[(int) (slot >>> SEGMENT_SHIFT)].put((int) (slot & SEGMENT_MASK), value);
+    }
+
+    /**
+     * @param value The value to add.
+     * @return True if the value was not in the set yet.
+     * @throws IOException If the table had to grow and the new file can't be
+     * created.
+     */
+    public boolean add(long value) throws IOException {
+        if (value == FREE) {
+            if (containsFree) {
+                return false;
+            }
+            containsFree = true;
+            size++;
+            return true;
+        }
+        final int cacheSlot = (int) mix(value) & (recent.length - 1);
+        if (recent[cacheSlot] == value) {
+            return false;
+        }
+        recent[cacheSlot] = value;
+        final long mask = capacity - 1;
+        long slot = mix(value) & mask;
+        long current;
+        while ((current = get(slot)) != FREE) {
+            if (current == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        set(slot, value);
+        size++;
+        if (size * 4 > capacity * 3) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @param value The value to look for.
+     * @return True if the value is in the set.
+     */
+    public boolean contains(long value) {
+        if (value == FREE) {
+            return containsFree;
+        }
+        if (recent[(int) mix(value) & (recent.length - 1)] == value) {
+            return true;
+        }
+        final long mask = capacity - 1;
+        long slot = mix(value) & mask;
+        long current;
+        while ((current = get(slot)) != FREE) {
+            if (current == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Moves every value to a new table of twice the size, in a new file.
+     */
+    private void grow() throws IOException {
+        final RandomAccessFile oldAccess = access;
+        final File oldFile = file;
+        rehash(segments);
+        oldAccess.close();
+        scratchFiles.delete(oldFile);
+    }
+
+    /**
+     * Allocates a table of twice the size and puts every value of the old
+     * segments in its new slot. The old segments are no longer referred to
+     * once this returns, so their mappings can be released.
+     */
+    private void rehash(LongBuffer[] oldSegments) throws IOException {
+        allocate(capacity * 2);
+        final long mask = capacity - 1;
+        for (LongBuffer segment : oldSegments) {
+            for (int i = 0; i < segment.capacity(); i++) {
+                final long value = segment.get(i);
+                if (value != FREE) {
+                    long slot = mix(value) & mask;
+                    while (get(slot) != FREE) {
+                        slot = (slot + 1) & mask;
+                    }
+                    set(slot, value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes and deletes the file of the table, and any file of a smaller
+     * table that could not be deleted when the table grew. The set can't be
+     * used afterwards.
+     *
+     * @throws IOException If the file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        segments = new LongBuffer[0];
+        access.close();
+        scratchFiles.delete(file);
+        scratchFiles.deleteRemaining();
+    }
+
+    /**
+     * Spreads the bits of the value over the whole hash, because packed
+     * values often differ only in a few low bits.
+     */
+    private static long mix(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash *= 0xC2B2AE3D27D4EB4FL;
+        return hash ^ (hash >>> 29);
+    }
+
+}
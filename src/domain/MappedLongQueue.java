@@ -0,0 +1,138 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * A first in, first out queue of longs, stored in memory mapped files. The
+ * queue is a chain of segment files of 8 MiB each. Values are appended to the
+ * last segment and taken from the first one, and a segment is deleted as soon
+ * as all of its values have been taken. Only the two segments at the ends are
+ * touched, so the operating system can keep everything in between on disk.
+ *
+ * The files are created in the given directory and deleted by
+ * {@link #close}.
+ *
+ * @author Arjan
+ */
+public class MappedLongQueue implements Closeable {
+
+    private static final int SEGMENT_LONGS = 1 << 20;
+
+    private final File directory;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final ScratchFiles scratchFiles = new ScratchFiles();
+    private int head = 0;
+    private int tail = SEGMENT_LONGS;
+    private long size = 0;
+
+    /**
+     * Creates an empty queue. No files are created until the first value is
+     * added.
+     *
+     * @param directory The directory the segments are stored in.
+     */
+    public MappedLongQueue(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param value The value to append.
+     * @throws IOException If a new segment file can't be created.
+     */
+    public void add(long value) throws IOException {
+        if (tail == SEGMENT_LONGS) {
+            segments.addLast(new Segment(directory));
+            tail = 0;
+        }
+        segments.getLast().values.put(tail++, value);
+        size++;
+    }
+
+    /**
+     * @return The oldest value, which is removed from the queue.
+     * @throws IOException If a used up segment can't be closed.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public long poll() throws IOException {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        final long value = segments.getFirst().values.get(head++);
+        size--;
+        if (head == SEGMENT_LONGS) {
+            segments.removeFirst().delete(scratchFiles);
+            head = 0;
+            if (segments.isEmpty()) {
+                tail = SEGMENT_LONGS;
+            }
+        }
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Deletes every segment file, including those of used up segments that
+     * could not be deleted right away. The queue can't be used afterwards.
+     *
+     * @throws IOException If a file can't be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        while (!segments.isEmpty()) {
+            segments.removeFirst().delete(scratchFiles);
+        }
+        scratchFiles.deleteRemaining();
+    }
+
+    /**
+     * One file of the queue, mapped into memory as a whole.
+     */
+    private static class Segment {
+
+        private final File file;
+        private final RandomAccessFile access;
+        private LongBuffer values;
+
+        Segment(File directory) throws IOException {
+            this.file = File.createTempFile("frontier", ".bin", directory);
+            this.access = new RandomAccessFile(file, "rw");
+            this.values = access.getChannel()
+                    .map(FileChannel.MapMode.READ_WRITE, 0, (long) SEGMENT_LONGS * Long.BYTES)
+                    .order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+
+        /**
+         * Closes the file and lets go of its mapping before the file is
+         * deleted.
+         */
+        void delete(ScratchFiles scratchFiles) throws IOException {
+            values = null;
+            access.close();
+            scratchFiles.delete(file);
+        }
+
+    }
+
+}
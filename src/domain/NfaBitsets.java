@@ -0,0 +1,195 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A nondeterministic finite automaton compiled into bitsets. Every State has
+ * a dense index, and sets of States are arrays of longs with one bit per
+ * State. The epsilon closure of every State is computed once, up front, so
+ * following the Transitions on a symbol is a sequence of bitwise ORs.
+ *
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Arjan
+ */
+public class NfaBitsets {
+
+    private final Alphabet alphabet;
+    private final int words;
+    private final long[][] closures;
+    private final int[][][] symbolTargets;
+    private final long[] accepting;
+
+    /**
+     * Compiles the given Automaton. Only States reachable from the start state
+     * are included.
+     *
+     * @param automaton An Automaton without stack or IO Transitions.
+     */
+    public NfaBitsets(Automaton automaton) {
+        this(automaton, new StateNumbering(automaton.getStartState()));
+    }
+
+    /**
+     * Compiles the given Automaton, using the given numbering for the bits of
+     * the States.
+     *
+     * @param automaton An Automaton without stack or IO Transitions.
+     * @param numbering A numbering of the States reachable from the start
+     * state of the Automaton.
+     */
+    public NfaBitsets(Automaton automaton, StateNumbering numbering) {
+        final int stateCount = numbering.size();
+        this.alphabet = new Alphabet(numbering);
+        this.words = (stateCount + 63) >>> 6;
+        this.symbolTargets = new int[stateCount][alphabet.size()][];
+        this.accepting = new long[words];
+        final int[][] epsilonTargets = new int[stateCount][];
+        for (int i = 0; i < stateCount; i++) {
+            final State state = numbering.getState(i);
+            if (automaton.terminatesAt(state)) {
+                accepting[i >>> 6] |= 1L << i;
+            }
+            epsilonTargets[i] = new int[0];
+            final Iterator<Transition> itTrans = state.getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                final int target = numbering.indexOf(trans.getTargetState());
+                if (trans.takesNoInput()) {
+                    epsilonTargets[i] = append(epsilonTargets[i], target);
+                } else if (Alphabet.readsSymbol(trans)) {
+                    final int column = alphabet.indexOf(trans.getInputChar());
+                    symbolTargets[i][column] = append(symbolTargets[i][column], target);
+                }
+            }
+        }
+        this.closures = new long[stateCount][];
+        final int[] stack = new int[stateCount];
+        for (int i = 0; i < stateCount; i++) {
+            closures[i] = calculateEpsilonClosure(i, epsilonTargets, stack);
+        }
+    }
+
+    private static int[] append(int[] array, int value) {
+        if (array == null) {
+            return new int[]{value};
+        }
+        final int[] result = Arrays.copyOf(array, array.length + 1);
+        result[array.length] = value;
+        return result;
+    }
+
+    /**
+     * Depth first search through the epsilon Transitions of the given State.
+     *
+     * @param stack Scratch space, large enough to hold every State.
+     */
+    private long[] calculateEpsilonClosure(int state, int[][] epsilonTargets, int[] stack) {
+        final long[] closure = new long[words];
+        closure[state >>> 6] |= 1L << state;
+        int size = 0;
+        stack[size++] = state;
+        while (size > 0) {
+            for (int target : epsilonTargets[stack[--size]]) {
+                if ((closure[target >>> 6] & (1L << target)) == 0) {
+                    closure[target >>> 6] |= 1L << target;
+                    stack[size++] = target;
+                }
+            }
+        }
+        return closure;
+    }
+
+    /**
+     * @return The number of longs in a set of States.
+     */
+    public int getWordCount() {
+        return words;
+    }
+
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * @return A new set holding the epsilon closure of the start state.
+     */
+    public long[] getStartSet() {
+        return closures[0].clone();
+    }
+
+    /**
+     * Calculates the set of States reachable from the given set by consuming
+     * one symbol, including the epsilon closure of the result.
+     *
+     * @param current The set of States to start from. Will not be modified.
+     * @param column The column of the symbol in the {@link Alphabet}.
+     * @param next Receives the resulting set. Its old content is overwritten.
+     * @return True if the resulting set is not empty.
+     */
+    public boolean step(long[] current, int column, long[] next) {
+        Arrays.fill(next, 0L);
+        boolean nonEmpty = false;
+        for (int word = 0; word < words; word++) {
+            long bits = current[word];
+            while (bits != 0) {
+                final int state = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                final int[] targets = symbolTargets[state][column];
+                if (targets != null) {
+                    for (int target : targets) {
+                        final long[] closure = closures[target];
+                        for (int i = 0; i < words; i++) {
+                            next[i] |= closure[i];
+                        }
+                    }
+                    nonEmpty = true;
+                }
+            }
+        }
+        return nonEmpty;
+    }
+
+    /**
+     * @param set A set of States.
+     * @return True if at least one of the States is a terminator.
+     */
+    public boolean isAccepting(long[] set) {
+        for (int i = 0; i < words; i++) {
+            if ((set[i] & accepting[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Simulates the NFA on the given input, alternating between two
+     * preallocated sets of States.
+     *
+     * @param input The word/input string to be checked.
+     * @return True if the input is accepted.
+     */
+    public boolean accepts(CharSequence input) {
+        long[] current = getStartSet();
+        long[] next = new long[words];
+        for (int i = 0; i < input.length(); i++) {
+            final int column = alphabet.indexOf(input.charAt(i));
+            if (column < 0 || !step(current, column, next)) {
+                return false;
+            }
+            final long[] swap = current;
+            current = next;
+            next = swap;
+        }
+        return isAccepting(current);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * A partition of the integers 0 to size - 1 into blocks, that can be refined
+ * in time proportional to the number of elements involved. Elements of a
+ * block are kept next to each other in one array. Refining is done by marking
+ * elements and then splitting every block that has both marked and unmarked
+ * elements. Used by the partition refinement algorithms that minimize
+ * automata.
+ *
+ * @author Arjan
+ */
+public class Partition {
+
+    private final int[] elements;
+    private final int[] location;
+    private final int[] blockOf;
+    private final int[] first;
+    private final int[] end;
+    private final int[] marked;
+    private final int[] touched;
+    private int touchedCount = 0;
+    private int blockCount;
+
+    /**
+     * Constructs a partition with one block that holds all elements, or no
+     * blocks at all if size is zero.
+     *
+     * @param size The number of elements.
+     */
+    public Partition(int size) {
+        this.elements = new int[size];
+        this.location = new int[size];
+        this.blockOf = new int[size];
+        this.first = new int[Math.max(size, 1)];
+        this.end = new int[Math.max(size, 1)];
+        this.marked = new int[Math.max(size, 1)];
+        this.touched = new int[Math.max(size, 1)];
+        for (int i = 0; i < size; i++) {
+            elements[i] = i;
+            location[i] = i;
+        }
+        this.end[0] = size;
+        this.blockCount = size == 0 ? 0 : 1;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    public int getBlock(int element) {
+        return blockOf[element];
+    }
+
+    public int getBlockSize(int block) {
+        return end[block] - first[block];
+    }
+
+    /**
+     * @param block A block.
+     * @param index A number between zero and the size of the block.
+     * @return The element at the given index of the given block.
+     */
+    public int getElement(int block, int index) {
+        return elements[first[block] + index];
+    }
+
+    /**
+     * Marks the given element for the next call to {@link #splitMarked}.
+     * Marking an element twice has no further effect.
+     *
+     * @param element The element to mark.
+     */
+    public void mark(int element) {
+        final int block = blockOf[element];
+        final int boundary = first[block] + marked[block];
+        if (location[element] < boundary) {
+            return;
+        }
+        if (marked[block] == 0) {
+            touched[touchedCount++] = block;
+        }
+        final int other = elements[boundary];
+        elements[boundary] = element;
+        elements[location[element]] = other;
+        location[other] = location[element];
+        location[element] = boundary;
+        marked[block]++;
+    }
+
+    /**
+     * Splits every block that has both marked and unmarked elements. The
+     * marked elements move to a new block; the unmarked ones keep the id of
+     * the old block. Afterwards no element is marked.
+     *
+     * @return The splits that were made, as pairs of the old and the new
+     * block: {old, new, old, new, ...}.
+     */
+    public int[] splitMarked() {
+        final int[] splits = new int[2 * touchedCount];
+        int splitCount = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            final int block = touched[i];
+            final int markedCount = marked[block];
+            marked[block] = 0;
+            if (markedCount == getBlockSize(block)) {
+                continue;
+            }
+            final int split = blockCount++;
+            first[split] = first[block];
+            end[split] = first[block] + markedCount;
+            first[block] = end[split];
+            for (int j = first[split]; j < end[split]; j++) {
+                blockOf[elements[j]] = split;
+            }
+            splits[splitCount++] = block;
+            splits[splitCount++] = split;
+        }
+        touchedCount = 0;
+        return Arrays.copyOf(splits, splitCount);
+    }
+
+}
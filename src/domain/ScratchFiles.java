@@ -0,0 +1,68 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Deletes the memory mapped files of a disk-backed collection. Some systems,
+ * Windows among them, refuse to delete a file while a mapping of it is open,
+ * and a mapping is only released once its buffer has been garbage collected.
+ * A file that can't be deleted right away is therefore remembered and tried
+ * again when the collection is closed.
+ *
+ * @author Arjan
+ */
+class ScratchFiles {
+
+    private static final int RETRIES = 3;
+    private static final long RETRY_MILLIS = 20;
+
+    private final List<File> undeleted = new ArrayList<>();
+
+    /**
+     * Deletes the given file, or remembers it if it can't be deleted yet. The
+     * caller should no longer refer to any buffer mapped from the file.
+     *
+     * @param file A file that is no longer used.
+     */
+    void delete(File file) {
+        if (!file.delete() && file.exists()) {
+            undeleted.add(file);
+        }
+    }
+
+    /**
+     * Tries to delete the remembered files again, after asking the garbage
+     * collector to release their mappings. A file that still can't be deleted
+     * is left to be deleted when the program exits, and is reported in the
+     * log.
+     */
+    void deleteRemaining() {
+        for (int attempt = 0; attempt < RETRIES && !undeleted.isEmpty(); attempt++) {
+            System.gc();
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            undeleted.removeIf((file) -> file.delete() || !file.exists());
+        }
+        for (File file : undeleted) {
+            file.deleteOnExit();
+            Logger.getLogger(ScratchFiles.class.getName()).log(Level.WARNING,
+                    "Could not delete {0}, it will be deleted when the program exits.", file);
+        }
+        undeleted.clear();
+    }
+
+}
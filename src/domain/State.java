@@ -6,12 +6,18 @@
  */
 package domain;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 /**
@@ -20,9 +26,14 @@ import java.util.stream.Stream;
  */
 public class State {
 
+    private static final AtomicLong REVISIONS = new AtomicLong();
+
     private final String name;
     private final Set<Transition> transitions = new HashSet<>();
     private boolean isTerminator = false;
+    private transient volatile Set<State> contingencies;
+    private transient volatile ChannelIndex channelIndex;
+    private transient volatile long revision;
 
     public State(String name) {
         this.name = name;
@@ -47,6 +58,9 @@ public class State {
 
     public void addTransition(Transition transition) {
         transitions.add(transition);
+        channelIndex = null;
+        clearCachedContingencies();
+        revision = REVISIONS.incrementAndGet();
     }
 
     public Iterator<Transition> getTransitions() {
@@ -64,6 +78,26 @@ public class State {
 
     public void removeTransition(Transition transition) {
         transitions.remove(transition);
+        channelIndex = null;
+        clearCachedContingencies();
+        revision = REVISIONS.incrementAndGet();
+    }
+
+    /**
+     * @return The revision of the Transitions of this State: zero if they never
+     * changed, otherwise the value {@link #getLatestRevision} had right after
+     * the last Transition was added or removed.
+     */
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * @return The revision of the most recent change to the Transitions of any
+     * State. Every change gets a higher revision than the ones before it.
+     */
+    public static long getLatestRevision() {
+        return REVISIONS.get();
     }
 
     public boolean hasTransition(Transition transition) {
@@ -76,10 +110,32 @@ public class State {
         });
     }
 
+    /**
+     * @return The IO Transitions of this State, indexed by direction and
+     * channel. The index is built on first use and rebuilt after a Transition
+     * is added or removed.
+     */
+    public ChannelIndex getChannelIndex() {
+        ChannelIndex index = channelIndex;
+        if (index == null) {
+            index = new ChannelIndex(this);
+            channelIndex = index;
+        }
+        return index;
+    }
+
     public boolean hasIOTransitions() {
         return transitions.stream().anyMatch(trans -> trans.performsIOOperation());
     }
 
+    /**
+     * @return True if this State has at least one Transition that can be taken
+     * without communicating with another process.
+     */
+    public boolean hasNonIOTransitions() {
+        return getChannelIndex().hasNonIOTransitions();
+    }
+
     public boolean hasStackTransitions() {
         return transitions.stream().anyMatch(trans -> trans.performsStackOperation());
     }
@@ -101,68 +157,83 @@ public class State {
 
     /**
      * Collect all states, reachable from this state without going through IO
-     * transitions, that have at least one IO transition.
+     * transitions, that have at least one IO transition. If any state without
+     * IO transitions is reached from which no such path leads to a state with
+     * IO transitions, the process can end up stuck there, and a
+     * {@link SinkState} is added to the result as well. The result is
+     * calculated once and cached until {@link #clearCachedContingencies} is
+     * called.
      *
-     * @return The Set of States that were found.
+     * @return The unmodifiable Set of States that were found.
      */
     public Set<State> collectContingencies() {
-        final Set<State> result = new HashSet<>();
-        collectContingencies(new HashMap<>(), result, new HashSet<>());
+        Set<State> result = contingencies;
+        if (result == null) {
+            result = Collections.unmodifiableSet(findContingencies());
+            contingencies = result;
+        }
         return result;
     }
 
     /**
-     * Recursive method, only to be called from within the recursion. To start
-     * the search, use {@link
-     * #collectContingencies()}
-     *
-     * @param visited A Map of States that are already considered.
-     * @param result The Set of States that has been found.
-     * @param myDependencies Used for determining if this State is a sink
-     * contingency.
-     * @return
+     * Finds every State reachable through Transitions without IO first, and
+     * then works backwards from the States with IO Transitions among them to
+     * find the States that can get back to IO. Unlike a single depth first
+     * walk, the outcome doesn't depend on the order in which cycles of
+     * Transitions without IO are entered.
      */
-    IoType collectContingencies(
-            Map<State, IoType> visited, Set<State> result, Set<State> dependencies) {
-        if (visited.containsKey(this)) {
-            return visited.get(this);
-        } else if (hasIOTransitions()) {
-            result.add(this);
-            visited.put(this, IoType.HAS_IO);
-            collectContingenciesIgnoreDependencies(visited, result);
-            return IoType.HAS_IO;
-        } else {
-            visited.put(this, IoType.STILL_CALC);
-            return collectContingenciesMindDependencies(visited, result, dependencies);
+    private Set<State> findContingencies() {
+        final List<State> reached = new ArrayList<>();
+        final Map<State, List<State>> predecessors = new HashMap<>();
+        reached.add(this);
+        predecessors.put(this, new ArrayList<>());
+        for (int i = 0; i < reached.size(); i++) {
+            final State state = reached.get(i);
+            for (Transition trans : state.transitions) {
+                final State target = trans.getTargetState();
+                if (trans.performsIOOperation() || target == null) {
+                    continue;
+                }
+                List<State> targetPredecessors = predecessors.get(target);
+                if (targetPredecessors == null) {
+                    targetPredecessors = new ArrayList<>();
+                    predecessors.put(target, targetPredecessors);
+                    reached.add(target);
+                }
+                targetPredecessors.add(state);
+            }
         }
-    }
-    
-    private void collectContingenciesIgnoreDependencies(Map<State, IoType> visited, Set<State> result) {
-        transitions.stream()
-                .filter((trans) -> !trans.performsIOOperation())
-                .forEach((nonIoTrans) -> {
-                    nonIoTrans.findContinThroughTrans(visited, result, new HashSet<>());
-                });
-    }
-
-    private IoType collectContingenciesMindDependencies(Map<State, IoType> visited, Set<State> result, Set<State> dependencies) {
-        final Set<State> myDependencies = new HashSet<>();
-        transitions.stream()
-                .filter((trans) -> !trans.performsIOOperation())
-                .forEach((nonIoTrans) -> {
-                    nonIoTrans.findContinThroughTrans(visited, result, myDependencies);
-                });
-        if(visited.get(this).equals(IoType.HAS_IO)) {
-            return IoType.HAS_IO;
+        final Set<State> found = new HashSet<>();
+        final Set<State> backToIO = new HashSet<>();
+        final Deque<State> pending = new ArrayDeque<>();
+        for (State state : reached) {
+            if (state.hasIOTransitions()) {
+                found.add(state);
+                backToIO.add(state);
+                pending.push(state);
+            }
+        }
+        while (!pending.isEmpty()) {
+            for (State predecessor : predecessors.get(pending.pop())) {
+                if (backToIO.add(predecessor)) {
+                    pending.push(predecessor);
+                }
+            }
         }
-        myDependencies.remove(this);
-        if (myDependencies.isEmpty()) {
-            result.add(new SinkState());
-            return IoType.IS_SINK;
-        } else {
-            dependencies.addAll(myDependencies);
-            return IoType.MAYBE_IO;
+        if (backToIO.size() < reached.size()) {
+            found.add(new SinkState());
         }
+        return found;
+    }
+
+    /**
+     * Forgets the cached result of {@link #collectContingencies()}. Because
+     * the contingencies of a State depend on every State it can reach, the
+     * owner of the States must call this on all of them whenever a Transition
+     * is added or removed anywhere.
+     */
+    public void clearCachedContingencies() {
+        contingencies = null;
     }
 
 }
@@ -0,0 +1,105 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Assigns a dense integer index to every State reachable from a start state.
+ * The start state always gets index zero. Compiled representations of an
+ * Automaton use these indices to store their data in plain arrays.
+ *
+ * @author Arjan
+ */
+public class StateNumbering {
+
+    private final Map<State, Integer> indices = new HashMap<>();
+    private final List<State> states = new ArrayList<>();
+
+    /**
+     * Numbers the given start state and every State transitively reachable
+     * from it, in breadth first order.
+     *
+     * @param startState The State that is to receive index zero.
+     */
+    public StateNumbering(State startState) {
+        final Queue<State> queue = new ArrayDeque<>();
+        add(startState);
+        queue.add(startState);
+        while (!queue.isEmpty()) {
+            final Iterator<Transition> itTrans = queue.poll().getTransitions();
+            while (itTrans.hasNext()) {
+                final State target = itTrans.next().getTargetState();
+                if (target != null && !indices.containsKey(target)) {
+                    add(target);
+                    queue.add(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Numbers every State that can be reached from a State that is already
+     * numbered, for instance after Transitions were added. States keep the
+     * index they already had, even if they can no longer be reached from the
+     * start state.
+     */
+    public void addSuccessors() {
+        for (int i = 0; i < states.size(); i++) {
+            final Iterator<Transition> itTrans = states.get(i).getTransitions();
+            while (itTrans.hasNext()) {
+                final State target = itTrans.next().getTargetState();
+                if (target != null) {
+                    add(target);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the given State to the numbering if it hasn't been numbered yet.
+     *
+     * @param state The State to number.
+     * @return The index of the State.
+     */
+    public final int add(State state) {
+        final Integer index = indices.get(state);
+        if (index != null) {
+            return index;
+        }
+        indices.put(state, states.size());
+        states.add(state);
+        return states.size() - 1;
+    }
+
+    /**
+     * @param state The State to look up.
+     * @return The index of the given State, or -1 if it has not been numbered.
+     */
+    public int indexOf(State state) {
+        final Integer index = indices.get(state);
+        return index == null ? -1 : index;
+    }
+
+    public State getState(int index) {
+        return states.get(index);
+    }
+
+    /**
+     * @return The number of States that have been numbered.
+     */
+    public int size() {
+        return states.size();
+    }
+
+}
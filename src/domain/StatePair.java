@@ -30,20 +30,35 @@ public class StatePair {
         this.state2 = state2;
     }
 
+    public State getState1() {
+        return state1;
+    }
+
+    public State getState2() {
+        return state2;
+    }
+
     /**
      * Checks if every single transition in state1 is a mismatch with every
-     * single Transition in state2.
+     * single Transition in state2. This is the case if the States can't
+     * synchronize on a channel, and at least one of them has nothing but IO
+     * Transitions. Both checks are answered from the precomputed
+     * {@link ChannelIndex} of each State.
      *
      * @return True if this StatePair deadlocks.
      */
     public boolean deadlocks() {
-        return state1.getTransitionsStream()
-                .allMatch((Transition trans1) -> {
-                    return state2.getTransitionsStream()
-                    .allMatch((Transition trans2) -> {
-                        return !trans1.isCompatibleWith(trans2);
-                    });
-                });
+        return !(state1.hasNonIOTransitions() && state2.hasNonIOTransitions()) && !canSynchronize();
+    }
+
+    /**
+     * Checks if state1 and state2 have a pair of IO Transitions that read from
+     * and write to the same channel.
+     *
+     * @return True if the two States can communicate.
+     */
+    public boolean canSynchronize() {
+        return state1.getChannelIndex().canSynchronizeWith(state2.getChannelIndex());
     }
 
     /**
@@ -56,32 +71,27 @@ public class StatePair {
     public Set<Contingency> gatherContingencies(int time) {
         final Set<Contingency> contingencies = new HashSet<>();
         final Set<State> ioStates1 = state1.collectContingencies();
-        ioStates1.stream().forEach((state) -> contingencies.add(new Contingency(1, state, time)));
+        ioStates1.stream().forEach((state) -> contingencies.add(new Contingency(0, state, time)));
         
         final Set<State> ioStates2 = state2.collectContingencies();
-        ioStates2.stream().forEach((state) -> contingencies.add(new Contingency(2, state, time)));
+        ioStates2.stream().forEach((state) -> contingencies.add(new Contingency(1, state, time)));
         
         return contingencies;
     }
     
     /**
-     * Of the Cartesian product of transitions of state1 and state2, filter all
-     * matching IO transitions. Gather the resulting StatePairs.
+     * Of the Cartesian product of transitions of state1 and state2, find all
+     * matching IO transitions through the {@link ChannelIndex} of each State.
+     * Gather the resulting StatePairs.
      *
      * @return The StatePairs that could be reached after going through an IO
      * transaction.
      */
     public Set<StatePair> doIOOperations() {
         final Set<StatePair> pairs = new HashSet<>();
-        state1.getTransitionsStream()
-                .filter((trans1) -> trans1.performsIOOperation())
-                .forEach((trans1) -> {
-                    state2.getTransitionsStream()
-                    .filter((trans2) -> trans1.isCompatibleWith(trans2))
-                    .forEach((trans2) -> {
-                        pairs.add(new StatePair(trans1.getTargetState(), trans2.getTargetState()));
-                    });
-                });
+        state1.getChannelIndex().forEachSynchronization(state2.getChannelIndex(), (trans1, trans2) -> {
+            pairs.add(new StatePair(trans1.getTargetState(), trans2.getTargetState()));
+        });
         return pairs;
     }
 
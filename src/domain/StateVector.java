@@ -0,0 +1,72 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+
+/**
+ * The global state of a system of communicating processes: for every process,
+ * the id of the State it is in. The ids are handed out per process by the
+ * code that builds the vectors. StateVectors are immutable.
+ *
+ * @author Arjan
+ */
+public class StateVector {
+
+    private final int[] stateIds;
+    private final int hash;
+
+    /**
+     * @param stateIds The id of the State of every process. The array is
+     * copied.
+     */
+    public StateVector(int... stateIds) {
+        this.stateIds = stateIds.clone();
+        this.hash = Arrays.hashCode(stateIds);
+    }
+
+    /**
+     * @return The number of processes.
+     */
+    public int size() {
+        return stateIds.length;
+    }
+
+    public int getStateId(int process) {
+        return stateIds[process];
+    }
+
+    /**
+     * @return A copy of the State ids, one per process.
+     */
+    public int[] toArray() {
+        return stateIds.clone();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final StateVector other = (StateVector) obj;
+        return hash == other.hash && Arrays.equals(stateIds, other.stateIds);
+    }
+
+    @Override
+    public String toString() {
+        return "StateVector" + Arrays.toString(stateIds);
+    }
+
+}
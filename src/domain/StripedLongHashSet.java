@@ -0,0 +1,80 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * A thread safe set of primitive longs. The values are spread over a fixed
+ * number of {@link LongHashSet}s, each guarded by its own lock, so threads
+ * that add different values rarely wait for each other.
+ *
+ * @author Arjan
+ */
+public class StripedLongHashSet {
+
+    private static final int STRIPE_BITS = 6;
+
+    private final LongHashSet[] stripes = new LongHashSet[1 << STRIPE_BITS];
+
+    public StripedLongHashSet() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new LongHashSet();
+        }
+    }
+
+    /**
+     * @param value The value to add.
+     * @return True if the value was not in the set yet.
+     */
+    public boolean add(long value) {
+        final LongHashSet stripe = stripeOf(value);
+        synchronized (stripe) {
+            return stripe.add(value);
+        }
+    }
+
+    /**
+     * @param value The value to look for.
+     * @return True if the value is in the set.
+     */
+    public boolean contains(long value) {
+        final LongHashSet stripe = stripeOf(value);
+        synchronized (stripe) {
+            return stripe.contains(value);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (LongHashSet stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes every value. Values that are added by other threads at the same
+     * time may or may not be kept.
+     */
+    public void clear() {
+        for (LongHashSet stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Picks the stripe by the high bits of a multiplicative hash, because
+     * packed values often differ only in a few low bits.
+     */
+    private LongHashSet stripeOf(long value) {
+        return stripes[(int) ((value * 0x9E3779B97F4A7C15L) >>> (64 - STRIPE_BITS))];
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.BitSet;
+
+/**
+ * Chooses, for a StateVector, a set of processes whose synchronizations are
+ * enough to find every deadlock. This is partial-order reduction with stubborn
+ * sets. The set starts with one process that can synchronize, and is closed
+ * under "may ever communicate with": for every member, every process whose
+ * Automaton uses the opposite direction of a channel that the member can use
+ * without further IO is added as well.
+ *
+ * Synchronizations outside such a set only involve processes outside it. They
+ * can neither enable nor disable a synchronization inside the set, so
+ * postponing them never hides a deadlock. Processes that work on disjoint
+ * channels are therefore no longer interleaved in every possible order.
+ *
+ * @author Arjan
+ */
+class StubbornSets {
+
+    private final int processCount;
+    private final BitSet[] automatonReads;
+    private final BitSet[] automatonWrites;
+    private final BitSet[][] offeredReads;
+    private final BitSet[][] offeredWrites;
+
+    /**
+     * Calculates the channels of every process up front, so that choosing a
+     * set only reads shared data and can be done from several threads.
+     *
+     * @param numberings The numbered States of every process.
+     * @param sinkIds The id that stands for every sink, per process.
+     */
+    StubbornSets(StateNumbering[] numberings, int[] sinkIds) {
+        this.processCount = numberings.length;
+        this.automatonReads = new BitSet[processCount];
+        this.automatonWrites = new BitSet[processCount];
+        this.offeredReads = new BitSet[processCount][];
+        this.offeredWrites = new BitSet[processCount][];
+        for (int p = 0; p < processCount; p++) {
+            automatonReads[p] = new BitSet();
+            automatonWrites[p] = new BitSet();
+            offeredReads[p] = new BitSet[numberings[p].size()];
+            offeredWrites[p] = new BitSet[numberings[p].size()];
+            for (int id = 0; id < numberings[p].size(); id++) {
+                offeredReads[p][id] = new BitSet();
+                offeredWrites[p][id] = new BitSet();
+                if (id == sinkIds[p]) {
+                    continue;
+                }
+                final State state = numberings[p].getState(id);
+                state.getChannelIndex().addChannelsTo(automatonReads[p], automatonWrites[p]);
+                for (State contingency : state.collectContingencies()) {
+                    contingency.getChannelIndex().addChannelsTo(offeredReads[p][id], offeredWrites[p][id]);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param vector The vector that is being resolved.
+     * @param states The States of the vector, per process.
+     * @return Which processes are in the smallest stubborn set that was found,
+     * or null if no two processes can synchronize, in which case there is
+     * nothing to reduce.
+     */
+    boolean[] choose(StateVector vector, State[] states) {
+        final boolean[] enabled = new boolean[processCount];
+        boolean anyEnabled = false;
+        for (int i = 0; i < processCount; i++) {
+            for (int j = i + 1; j < processCount; j++) {
+                if (new StatePair(states[i], states[j]).canSynchronize()) {
+                    enabled[i] = true;
+                    enabled[j] = true;
+                    anyEnabled = true;
+                }
+            }
+        }
+        if (!anyEnabled) {
+            return null;
+        }
+        boolean[] best = null;
+        int bestSize = processCount + 1;
+        for (int seed = 0; seed < processCount && bestSize > 2; seed++) {
+            if (enabled[seed] && (best == null || !best[seed])) {
+                final boolean[] members = new boolean[processCount];
+                final int size = close(vector, seed, members);
+                if (size < bestSize) {
+                    best = members;
+                    bestSize = size;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Adds the given seed and everything it may communicate with to the
+     * members, transitively.
+     *
+     * @return The number of members.
+     */
+    private int close(StateVector vector, int seed, boolean[] members) {
+        final int[] worklist = new int[processCount];
+        int pending = 0;
+        int size = 1;
+        members[seed] = true;
+        worklist[pending++] = seed;
+        while (pending > 0) {
+            final int member = worklist[--pending];
+            final BitSet reads = offeredReads[member][vector.getStateId(member)];
+            final BitSet writes = offeredWrites[member][vector.getStateId(member)];
+            for (int other = 0; other < processCount; other++) {
+                if (!members[other] && (reads.intersects(automatonWrites[other])
+                        || writes.intersects(automatonReads[other]))) {
+                    members[other] = true;
+                    worklist[pending++] = other;
+                    size++;
+                }
+            }
+        }
+        return size;
+    }
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import bdd.BddManager;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Explores the StateVectors of a set of processes symbolically, with binary
+ * decision diagrams. The id of every process is encoded in a few boolean
+ * variables, and a set of vectors is a BDD over those variables. The same
+ * vectors are reached as in the explicit search of the {@link DeadlockFinder},
+ * but a set of vectors takes memory in proportion to its structure instead of
+ * its size.
+ *
+ * Every variable has a primed copy, directly below it in the variable order,
+ * that describes the vector after a step. For every two processes there is a
+ * transition relation over both copies: the two processes synchronize on a
+ * channel and each end up in a contingency of the target of its Transition,
+ * while every other process moves to one of its own contingencies. The vectors
+ * reached in one step from a set are found with a relational product per pair
+ * of processes. Within a step, the relations are applied one after the other,
+ * each to everything the step has found so far, so processes that work
+ * independently of each other make progress in the same step.
+ *
+ * @author Arjan
+ */
+class SymbolicReachability {
+
+    private final BddManager bdd;
+    private final StateNumbering[] numberings;
+    private final int[] sinkIds;
+    private final int[] firstBits;
+    private final int[] bitCounts;
+    private final int bitCount;
+    private final int currentVars;
+    private final int[] unprime;
+    private final int[] relations;
+    private final int blocked;
+    private int reachable;
+    private int frontier;
+
+    /**
+     * Encodes the processes and their transition relations.
+     *
+     * @param numberings The numbered States of every process.
+     * @param sinkIds The id that stands for every sink, per process.
+     * @param start The start state of every process.
+     */
+    SymbolicReachability(StateNumbering[] numberings, int[] sinkIds, StateVector start) {
+        final int processCount = numberings.length;
+        this.numberings = numberings;
+        this.sinkIds = sinkIds;
+        this.firstBits = new int[processCount];
+        this.bitCounts = new int[processCount];
+        int bits = 0;
+        for (int p = 0; p < processCount; p++) {
+            firstBits[p] = bits;
+            bitCounts[p] = Math.max(1, 32 - Integer.numberOfLeadingZeros(numberings[p].size() - 1));
+            bits += bitCounts[p];
+        }
+        this.bitCount = bits;
+        this.bdd = new BddManager(2 * bits);
+        final int[] current = new int[bits];
+        this.unprime = new int[2 * bits];
+        for (int bit = 0; bit < bits; bit++) {
+            current[bit] = 2 * bit;
+            unprime[2 * bit] = 2 * bit;
+            unprime[2 * bit + 1] = 2 * bit;
+        }
+        this.currentVars = bdd.cube(current);
+
+        final int[] stays = new int[processCount];
+        final int[] nonIO = new int[processCount];
+        final Map<Integer, Integer>[] reads = newMaps(processCount);
+        final Map<Integer, Integer>[] writes = newMaps(processCount);
+        final Map<Integer, Integer>[] canRead = newMaps(processCount);
+        final Map<Integer, Integer>[] canWrite = newMaps(processCount);
+        int initial = BddManager.TRUE;
+        for (int p = 0; p < processCount; p++) {
+            stays[p] = BddManager.FALSE;
+            nonIO[p] = BddManager.FALSE;
+            for (int id = 0; id < numberings[p].size(); id++) {
+                final State state = numberings[p].getState(id);
+                if (id != sinkIds[p] && !state.hasIOTransitions()) {
+                    continue;
+                }
+                final int value = valueOf(p, id, false);
+                stays[p] = bdd.or(stays[p], bdd.and(value, contingenciesOf(p, id)));
+                if (state.hasNonIOTransitions()) {
+                    nonIO[p] = bdd.or(nonIO[p], value);
+                }
+                if (id == sinkIds[p]) {
+                    continue;
+                }
+                final ChannelIndex index = state.getChannelIndex();
+                for (int channel : index.getChannels()) {
+                    for (Transition trans : index.getReaders(channel)) {
+                        add(reads[p], channel, bdd.and(value, contingenciesOf(p, trans.getTargetState())));
+                        add(canRead[p], channel, value);
+                    }
+                    for (Transition trans : index.getWriters(channel)) {
+                        add(writes[p], channel, bdd.and(value, contingenciesOf(p, trans.getTargetState())));
+                        add(canWrite[p], channel, value);
+                    }
+                }
+            }
+            initial = bdd.and(initial, contingenciesOf(p, start.getStateId(p)));
+        }
+
+        this.relations = new int[processCount * (processCount - 1) / 2];
+        int noSync = BddManager.TRUE;
+        int relation = 0;
+        for (int i = 0; i < processCount; i++) {
+            for (int j = i + 1; j < processCount; j++) {
+                int sync = bdd.or(combine(writes[i], reads[j]), combine(reads[i], writes[j]));
+                for (int k = 0; k < processCount; k++) {
+                    if (k != i && k != j) {
+                        sync = bdd.and(sync, stays[k]);
+                    }
+                }
+                relations[relation++] = sync;
+                final int canSync = bdd.or(combine(canWrite[i], canRead[j]), combine(canRead[i], canWrite[j]));
+                noSync = bdd.and(noSync, bdd.not(canSync));
+            }
+        }
+        int someoneStuck = BddManager.FALSE;
+        for (int p = 0; p < processCount; p++) {
+            someoneStuck = bdd.or(someoneStuck, bdd.not(nonIO[p]));
+        }
+        this.blocked = bdd.and(noSync, someoneStuck);
+        this.reachable = bdd.rename(initial, unprime);
+        this.frontier = reachable;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<Integer, Integer>[] newMaps(int count) {
+        final Map<Integer, Integer>[] maps = new Map[count];
+        for (int i = 0; i < count; i++) {
+            maps[i] = new HashMap<>();
+        }
+        return maps;
+    }
+
+    private void add(Map<Integer, Integer> relations, int channel, int relation) {
+        relations.merge(channel, relation, bdd::or);
+    }
+
+    /**
+     * @return The disjunction, over every channel both sides use, of the
+     * conjunction of their BDDs for that channel.
+     */
+    private int combine(Map<Integer, Integer> side1, Map<Integer, Integer> side2) {
+        int result = BddManager.FALSE;
+        for (Map.Entry<Integer, Integer> entry : side1.entrySet()) {
+            final Integer partner = side2.get(entry.getKey());
+            if (partner != null) {
+                result = bdd.or(result, bdd.and(entry.getValue(), partner));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return The BDD that is true if the given process has the given id, in
+     * the primed or the unprimed variables.
+     */
+    private int valueOf(int process, int id, boolean primed) {
+        int result = BddManager.TRUE;
+        for (int bit = bitCounts[process] - 1; bit >= 0; bit--) {
+            final int var = 2 * (firstBits[process] + bit) + (primed ? 1 : 0);
+            final boolean set = ((id >>> (bitCounts[process] - 1 - bit)) & 1) != 0;
+            result = bdd.and(result, set ? bdd.ithVar(var) : bdd.nithVar(var));
+        }
+        return result;
+    }
+
+    /**
+     * @return The contingencies of the State with the given id, as primed
+     * values of the given process. A sink is its own contingency.
+     */
+    private int contingenciesOf(int process, int id) {
+        if (id == sinkIds[process]) {
+            return valueOf(process, id, true);
+        }
+        return contingenciesOf(process, numberings[process].getState(id));
+    }
+
+    private int contingenciesOf(int process, State state) {
+        final Set<State> contingencies = state.collectContingencies();
+        int result = BddManager.FALSE;
+        for (State contingency : contingencies) {
+            final int id = contingency instanceof SinkState ? sinkIds[process]
+                    : numberings[process].indexOf(contingency);
+            result = bdd.or(result, valueOf(process, id, true));
+        }
+        return result;
+    }
+
+    /**
+     * Adds the vectors that can be reached from the vectors that were added
+     * last, with at least one synchronization.
+     *
+     * @return True if any new vectors were found.
+     */
+    boolean expand() {
+        int added = frontier;
+        int found = BddManager.FALSE;
+        for (int relation : relations) {
+            final int image = bdd.rename(bdd.andExists(added, relation, currentVars), unprime);
+            final int fresh = bdd.and(image, bdd.not(reachable));
+            reachable = bdd.or(reachable, fresh);
+            found = bdd.or(found, fresh);
+            added = bdd.or(added, fresh);
+        }
+        frontier = found;
+        return frontier != BddManager.FALSE;
+    }
+
+    /**
+     * @return A deadlocking vector among the vectors that were added last, or
+     * null if none of them deadlocks.
+     */
+    StateVector findDeadlock() {
+        final int[] assignment = bdd.anySat(bdd.and(frontier, blocked));
+        if (assignment == null) {
+            return null;
+        }
+        final int[] ids = new int[bitCounts.length];
+        for (int p = 0; p < ids.length; p++) {
+            for (int bit = 0; bit < bitCounts[p]; bit++) {
+                ids[p] = (ids[p] << 1) | (assignment[2 * (firstBits[p] + bit)] == 1 ? 1 : 0);
+            }
+        }
+        return new StateVector(ids);
+    }
+
+    /**
+     * @return The number of vectors reached so far.
+     */
+    long getReachableCount() {
+        return (long) Math.min(Long.MAX_VALUE, bdd.satCount(reachable) / Math.pow(2, bitCount));
+    }
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * One step of a deadlock trace: two processes that communicate by taking a
+ * pair of matching IO Transitions at the same time.
+ *
+ * @author Arjan
+ */
+public class SyncStep {
+
+    private final int process1;
+    private final Transition transition1;
+    private final int process2;
+    private final Transition transition2;
+
+    /**
+     * @param process1 The index of the first process.
+     * @param transition1 The IO Transition taken by the first process.
+     * @param process2 The index of the second process.
+     * @param transition2 The IO Transition taken by the second process.
+     */
+    public SyncStep(int process1, Transition transition1, int process2, Transition transition2) {
+        this.process1 = process1;
+        this.transition1 = transition1;
+        this.process2 = process2;
+        this.transition2 = transition2;
+    }
+
+    public int getProcess1() {
+        return process1;
+    }
+
+    public Transition getTransition1() {
+        return transition1;
+    }
+
+    public int getProcess2() {
+        return process2;
+    }
+
+    public Transition getTransition2() {
+        return transition2;
+    }
+
+    @Override
+    public String toString() {
+        return process1 + ": " + describe(transition1) + ", " + process2 + ": " + describe(transition2);
+    }
+
+    private static String describe(Transition trans) {
+        return trans.getSourceState() + " -" + trans.getInput() + "-> " + trans.getTargetState();
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Collapses an IO automaton to its IO skeleton. Only the States with IO
+ * Transitions are kept, together with a single State that stands for every
+ * sink. The Transitions without IO are saturated away: every IO Transition
+ * leads directly to each contingency of its original target, and a State that
+ * could move on without IO gets a Transition without IO to each of its other
+ * contingencies, or to itself if it has none.
+ *
+ * Every State of the quotient has the same contingencies as the State it was
+ * copied from, and has Transitions without IO exactly when that State does.
+ * The {@link DeadlockFinder} therefore reaches the same vectors in the
+ * quotient, while it has to number and walk far fewer States.
+ *
+ * @author Arjan
+ */
+public class TauQuotient {
+
+    private static final String EPSILON = String.valueOf(Transition.EPSILON);
+
+    private TauQuotient() {
+    }
+
+    /**
+     * Calculates the IO skeleton of the given Automaton. The States of the
+     * result have the names of the States they were copied from. The sink is
+     * called "Sink", unless the Automaton already has a State by that name.
+     * If the start state has no IO Transitions, the result gets a start state
+     * of the same name, with a Transition without IO to each of its
+     * contingencies. Stack operations of Transitions without IO are dropped
+     * along with them, and terminators are not copied.
+     *
+     * @param automaton An IO automaton.
+     * @return A new Automaton. The given Automaton is not modified.
+     */
+    public static Automaton quotient(Automaton automaton) {
+        final State start = automaton.getStartState();
+        final String name = automaton.getName() == null ? null : automaton.getName() + "_io";
+        final AutomatonBuilder quotient = new AutomatonBuilder(name, start.getName());
+        String sinkName = "Sink";
+        while (automaton.containsState(sinkName)) {
+            sinkName += "'";
+        }
+        final Set<State> copied = new HashSet<>();
+        final Queue<State> queue = new ArrayDeque<>();
+        if (!start.hasIOTransitions()) {
+            for (State contingency : start.collectContingencies()) {
+                quotient.addTransition(start.getName(), nameOf(contingency, sinkName), EPSILON,
+                        Transition.EPSILON, Transition.EPSILON);
+                enqueue(contingency, copied, queue);
+            }
+        } else {
+            enqueue(start, copied, queue);
+        }
+        while (!queue.isEmpty()) {
+            final State state = queue.poll();
+            final Iterator<Transition> itTrans = state.getTransitions();
+            while (itTrans.hasNext()) {
+                final Transition trans = itTrans.next();
+                if (!trans.performsIOOperation()) {
+                    continue;
+                }
+                for (State contingency : trans.getTargetState().collectContingencies()) {
+                    quotient.addTransition(state.getName(), nameOf(contingency, sinkName), trans.getInput(),
+                            trans.getReadFromStack(), trans.getWriteToStack());
+                    enqueue(contingency, copied, queue);
+                }
+            }
+            if (!state.hasNonIOTransitions()) {
+                continue;
+            }
+            boolean moves = false;
+            for (State contingency : state.collectContingencies()) {
+                if (contingency != state) {
+                    quotient.addTransition(state.getName(), nameOf(contingency, sinkName), EPSILON,
+                            Transition.EPSILON, Transition.EPSILON);
+                    enqueue(contingency, copied, queue);
+                    moves = true;
+                }
+            }
+            if (!moves) {
+                quotient.addTransition(state.getName(), state.getName(), EPSILON,
+                        Transition.EPSILON, Transition.EPSILON);
+            }
+        }
+        return quotient.build();
+    }
+
+    private static String nameOf(State contingency, String sinkName) {
+        return contingency instanceof SinkState ? sinkName : contingency.getName();
+    }
+
+    private static void enqueue(State contingency, Set<State> copied, Queue<State> queue) {
+        if (!(contingency instanceof SinkState) && copied.add(contingency)) {
+            queue.add(contingency);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Remembers how every resolved StateVector was reached, in plain int arrays.
+ * Every resolved vector gets a visit id. Every time slot remembers the visit
+ * that created it, and every visit remembers the time slot it came from. A
+ * path back to the start is found by following these pointers. The vectors
+ * themselves are stored as packed longs when they fit, so a visit costs 12
+ * bytes plus 4 bytes per time slot. All methods are thread safe.
+ *
+ * @author Arjan
+ */
+class TraceRecorder {
+
+    /**
+     * The parent of the time slots that are created before anything has been
+     * resolved.
+     */
+    static final int NO_PARENT = -1;
+
+    private final VectorPacker packer;
+    private int[] slotParents = new int[16];
+    private int[] visitSlots = new int[16];
+    private long[] visitKeys;
+    private final List<StateVector> visitVectors;
+    private int visitCount = 0;
+
+    /**
+     * @param packer Packs the vectors, or null if they are to be stored as
+     * objects.
+     */
+    TraceRecorder(VectorPacker packer) {
+        this.packer = packer;
+        this.visitKeys = packer == null ? null : new long[16];
+        this.visitVectors = packer == null ? new ArrayList<>() : null;
+    }
+
+    /**
+     * @param slot A new time slot.
+     * @param parentVisit The visit whose resolution created it.
+     */
+    synchronized void recordSlot(int slot, int parentVisit) {
+        if (slot >= slotParents.length) {
+            slotParents = Arrays.copyOf(slotParents, Math.max(slot + 1, slotParents.length * 2));
+        }
+        slotParents[slot] = parentVisit;
+    }
+
+    /**
+     * @param slot The time slot the vector was found in.
+     * @param vector The vector that is about to be resolved.
+     * @return The visit id of the vector.
+     */
+    synchronized int recordVisit(int slot, StateVector vector) {
+        if (visitCount == visitSlots.length) {
+            visitSlots = Arrays.copyOf(visitSlots, visitCount * 2);
+            if (visitKeys != null) {
+                visitKeys = Arrays.copyOf(visitKeys, visitCount * 2);
+            }
+        }
+        visitSlots[visitCount] = slot;
+        if (packer != null) {
+            visitKeys[visitCount] = packer.pack(vector);
+        } else {
+            visitVectors.add(vector);
+        }
+        return visitCount++;
+    }
+
+    /**
+     * @param visit A visit id.
+     * @return The vectors on the path from the first resolved vector to the
+     * vector of the given visit, both included.
+     */
+    synchronized List<StateVector> getPath(int visit) {
+        final List<StateVector> path = new ArrayList<>();
+        for (int current = visit; current != NO_PARENT; current = slotParents[visitSlots[current]]) {
+            path.add(packer != null ? packer.unpack(visitKeys[current]) : visitVectors.get(current));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+}
@@ -6,10 +6,7 @@
  */
 package domain;
 
-import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
 
 /**
  *
@@ -146,45 +143,6 @@ public class Transition {
         }
     }
 
-    /**
-     * Check if this Transition can be executed on the given Configuration. If
-     * so, the resulting configuration will be returned as an Optional. If it's
-     * not possible, for example because the top stack character or the next
-     * input symbol are wrong, an empty Optional will be returned.
-     *
-     * @param config The starting Configuration.
-     * @return An Optional<> wrapping the resulting Configuration. Will be empty
-     * if there is no valid resulting Configuration.
-     */
-    public Optional<Configuration> attemptTransition(Configuration config) {
-        if ((takesNoInput() || readsInput(config.getNextInputChar()) || performsIOOperation())
-                && (!readsFromStack() || getReadFromStack() == config.peekAtStack())) {
-            return Optional.of(new Configuration(getTargetState(), config.getNextStack(this), config.getNextInput(this)));
-        } else {
-            return Optional.empty();
-        }
-    }
-
-    /**
-     * Used to find all States transitively reachable through this Transition
-     * without going through IO Transitions, that have IO Transitions and can
-     * therefore block.
-     *
-     * @param visited A Map of States that are already considered.
-     * @param result The Set of States that has been found.
-     * @param myDependencies Used for determining if the SourceState is a sink
-     * contingency.
-     */
-    public void findContinThroughTrans(Map<State, IoType> visited,
-            Set<State> result, final Set<State> myDependencies) {
-        final IoType targetType = getTargetState().collectContingencies(visited, result, myDependencies);
-        if (targetType.equals(IoType.HAS_IO)) {
-            visited.put(getSourceState(), targetType);
-        } else if (targetType.equals(IoType.STILL_CALC)) {
-            myDependencies.add(getTargetState());
-        }
-    }
-
     @Override
     public String toString() {
         return getSourceState() + " ==> In: " + input + " Pop: " + readFromStack
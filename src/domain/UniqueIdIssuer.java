@@ -6,15 +6,18 @@
  */
 package domain;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Utility class for returning unique integers.
+ * Utility class for returning unique integers. Ids can be issued from several
+ * threads at the same time.
  *
  * @author Arjan
  */
 public class UniqueIdIssuer {
 
     private final int startingId;
-    private int number;
+    private final AtomicInteger number;
 
     /**
      * Constructs a new UniqueIdIssuer that will give out id's starting at zero.
@@ -32,7 +35,7 @@ public class UniqueIdIssuer {
      */
     public UniqueIdIssuer(int number) {
         this.startingId = number;
-        this.number = number;
+        this.number = new AtomicInteger(number);
     }
 
     /**
@@ -50,7 +53,7 @@ public class UniqueIdIssuer {
      * @return A unique integer.
      */
     public int getUniqueId() {
-        return number++;
+        return number.getAndIncrement();
     }
 
     /**
@@ -59,7 +62,7 @@ public class UniqueIdIssuer {
      * @return The next ID in line.
      */
     public int peekAtNextID() {
-        return number;
+        return number.get();
     }
 
     /**
@@ -68,6 +71,6 @@ public class UniqueIdIssuer {
      * @return True if at least one unique id has been issued in the past.
      */
     public boolean hasIssuedIds() {
-        return number != startingId;
+        return number.get() != startingId;
     }
 }
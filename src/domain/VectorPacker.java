@@ -0,0 +1,60 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * Packs StateVectors into a single long. Every process gets just enough bits
+ * for its largest State id, so a vector only fits if the bits of all processes
+ * add up to 64 or less.
+ *
+ * @author Arjan
+ */
+public class VectorPacker {
+
+    private final int[] shifts;
+    private final long[] masks;
+
+    private VectorPacker(int[] shifts, long[] masks) {
+        this.shifts = shifts;
+        this.masks = masks;
+    }
+
+    /**
+     * @param stateCounts The number of State ids of every process.
+     * @return A packer for vectors with the given numbers of States, or null
+     * if such vectors don't fit in 64 bits.
+     */
+    public static VectorPacker create(int... stateCounts) {
+        final int[] shifts = new int[stateCounts.length];
+        final long[] masks = new long[stateCounts.length];
+        int bits = 0;
+        for (int i = 0; i < stateCounts.length; i++) {
+            final int width = Math.max(1, 32 - Integer.numberOfLeadingZeros(stateCounts[i] - 1));
+            shifts[i] = bits;
+            masks[i] = (1L << width) - 1;
+            bits += width;
+        }
+        return bits <= 64 ? new VectorPacker(shifts, masks) : null;
+    }
+
+    public long pack(StateVector vector) {
+        long key = 0L;
+        for (int i = 0; i < shifts.length; i++) {
+            key |= (long) vector.getStateId(i) << shifts[i];
+        }
+        return key;
+    }
+
+    public StateVector unpack(long key) {
+        final int[] ids = new int[shifts.length];
+        for (int i = 0; i < shifts.length; i++) {
+            ids[i] = (int) ((key >>> shifts[i]) & masks[i]);
+        }
+        return new StateVector(ids);
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A first in, first out queue of StateVectors, stored as their plain State ids
+ * in a single int array that is used as a ring buffer. A queued vector costs
+ * 4 bytes per process and no object is kept per entry. The array doubles when
+ * it is full, so it is as large as the queue has been at its longest. Not
+ * thread safe.
+ *
+ * @author Arjan
+ */
+public class VectorQueue {
+
+    private final int width;
+    private int[] ids;
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * @param width The number of processes of every vector.
+     */
+    public VectorQueue(int width) {
+        this.width = width;
+        this.ids = new int[16 * Math.max(1, width)];
+    }
+
+    /**
+     * @param vector The vector to append.
+     */
+    public void add(StateVector vector) {
+        if ((size + 1) * width > ids.length) {
+            grow();
+        }
+        final int start = (head + size * width) % ids.length;
+        for (int i = 0; i < width; i++) {
+            ids[start + i] = vector.getStateId(i);
+        }
+        size++;
+    }
+
+    /**
+     * @return The oldest vector, which is removed from the queue.
+     * @throws NoSuchElementException If the queue is empty.
+     */
+    public StateVector poll() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        final StateVector vector = new StateVector(Arrays.copyOfRange(ids, head, head + width));
+        head = (head + width) % ids.length;
+        size--;
+        return vector;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves the vectors to an array of twice the size, with the oldest one at
+     * the front.
+     */
+    private void grow() {
+        final int[] grown = new int[ids.length * 2];
+        final int used = size * width;
+        final int firstPart = Math.min(used, ids.length - head);
+        System.arraycopy(ids, head, grown, 0, firstPart);
+        System.arraycopy(ids, 0, grown, firstPart, used - firstPart);
+        ids = grown;
+        head = 0;
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domain;
+
+/**
+ * What resolving a StateVector showed: the vectors the processes end up in
+ * right after one synchronization, and whether the vector deadlocks. Only the
+ * Transitions of the States in the vector itself are needed to work this out.
+ *
+ * @author Arjan
+ */
+class VectorResolution {
+
+    private final StateVector[] successors;
+    private final boolean deadlocks;
+
+    VectorResolution(StateVector[] successors, boolean deadlocks) {
+        this.successors = successors;
+        this.deadlocks = deadlocks;
+    }
+
+    StateVector[] getSuccessors() {
+        return successors;
+    }
+
+    boolean deadlocks() {
+        return deadlocks;
+    }
+
+}
@@ -8,12 +8,16 @@ package gui.home;
 
 import client.Model;
 import domain.Automaton;
+import domain.CancellationToken;
 import domain.DeadlockFinder;
+import domain.ExplorationMode;
 import gui.AbstractController;
 import gui.ScreenType;
 import java.io.IOException;
+import javafx.concurrent.Task;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
@@ -21,8 +25,46 @@ import javafx.scene.control.TextField;
 
 public class HomeController extends AbstractController {
 
+    /**
+     * The longest a deadlock check may run before it is stopped.
+     */
+    private static final long DEADLOCK_TIME_BUDGET_MILLIS = 5 * 60 * 1000;
+    /**
+     * The largest number of states a deadlock check may explore.
+     */
+    private static final long DEADLOCK_STATE_BUDGET = 50_000_000;
+
     private Automaton auto1 = null;
     private Automaton auto2 = null;
+    private CancellationToken deadlockCancellation = null;
+    /**
+     * Kept between checks, so a check after a small edit only explores again
+     * what the edit touched. The first check of a selection searches the
+     * reduced Automata instead, which is faster, and the checks after it
+     * cache their results. Discarded when another Automaton is selected.
+     */
+    private DeadlockFinder dlFinder = null;
+
+    @FXML
+    private Button btnCheckDeadlock;
+
+    @FXML
+    private Button btnNewAutomaton;
+
+    @FXML
+    private Button btnEditAutomaton;
+
+    @FXML
+    private Button btnSelect1;
+
+    @FXML
+    private Button btnClear1;
+
+    @FXML
+    private Button btnSelect2;
+
+    @FXML
+    private Button btnClear2;
 
     @FXML
     private TextField tfEnterInput1;
@@ -72,6 +114,7 @@ public class HomeController extends AbstractController {
     @FXML
     void btnSelect1_OnAction(ActionEvent event) {
         auto1 = getModel().getSelectedAutomaton();
+        dlFinder = null;
         tfAutomatonName1.setText(auto1.getName());
         lblAutomatonType1.setText("Automaton Type: " + auto1.getTypeProperty().get());
         taDeadlock.setText("Deadlock info: ");
@@ -82,6 +125,7 @@ public class HomeController extends AbstractController {
     @FXML
     void btnClear1_OnAction(ActionEvent event) {
         auto1 = null;
+        dlFinder = null;
         tfEnterInput1.setText("");
         tfAutomatonName1.setText("");
         lblAutomatonType1.setText("Automaton Type: ");
@@ -105,20 +149,83 @@ public class HomeController extends AbstractController {
 
     @FXML
     void btnCheckDeadlock_OnAction(ActionEvent event) {
+        if (deadlockCancellation != null) {
+            deadlockCancellation.cancel();
+            return;
+        }
         if (auto1 == null || auto2 == null) {
             return;
         }
-        final DeadlockFinder dlFinder = new DeadlockFinder(auto1, auto2);
-        if (dlFinder.hasDeadlock()) {
-            taDeadlock.setText("Deadlock info: " + dlFinder.getLog());
+        final CancellationToken cancellation = new CancellationToken();
+        if (dlFinder == null) {
+            dlFinder = new DeadlockFinder(auto1, auto2);
+            dlFinder.setExplorationMode(ExplorationMode.PARALLEL);
+            dlFinder.setTraceRecording(true);
         } else {
-            taDeadlock.setText("Deadlock info: No deadlock detected!");
+            dlFinder.setIncrementalReverification(true);
         }
+        final DeadlockFinder finder = dlFinder;
+        finder.setCancellationToken(cancellation);
+        finder.setTimeBudget(DEADLOCK_TIME_BUDGET_MILLIS);
+        finder.setStateBudget(DEADLOCK_STATE_BUDGET);
+        final Task<String> task = new Task<String>() {
+            @Override
+            protected String call() {
+                finder.setProgressListener((progress) -> updateMessage("Deadlock info: " + progress));
+                if (!finder.hasDeadlock()) {
+                    return "Deadlock info: No deadlock detected!";
+                }
+                final StringBuilder info = new StringBuilder("Deadlock info: " + finder.getLog());
+                finder.getTrace().forEach((step) -> info.append("\n").append(step));
+                return info.toString();
+            }
+        };
+        task.messageProperty().addListener((observable, oldMessage, message) -> {
+            if (task.isRunning()) {
+                taDeadlock.setText(message);
+            }
+        });
+        task.setOnSucceeded((workerEvent) -> {
+            deadlockCheckFinished();
+            taDeadlock.setText(task.getValue());
+        });
+        task.setOnFailed((workerEvent) -> {
+            deadlockCheckFinished();
+            taDeadlock.setText("Deadlock info: " + task.getException().getMessage());
+        });
+        deadlockCancellation = cancellation;
+        btnCheckDeadlock.setText("Cancel Deadlock Detection");
+        setSelectionDisabled(true);
+        taDeadlock.setText("Deadlock info: Searching...");
+        final Thread thread = new Thread(task, "Deadlock detection");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void deadlockCheckFinished() {
+        deadlockCancellation = null;
+        btnCheckDeadlock.setText("Run Deadlock Detection");
+        setSelectionDisabled(false);
+    }
+
+    /**
+     * The search walks the Transitions of the selected automata on another
+     * thread, so they may not be edited or swapped while a check runs.
+     */
+    private void setSelectionDisabled(boolean disabled) {
+        lvAutomata.setDisable(disabled);
+        btnNewAutomaton.setDisable(disabled);
+        btnEditAutomaton.setDisable(disabled);
+        btnSelect1.setDisable(disabled);
+        btnClear1.setDisable(disabled);
+        btnSelect2.setDisable(disabled);
+        btnClear2.setDisable(disabled);
     }
 
     @FXML
     void btnSelect2_OnAction(ActionEvent event) {
         auto2 = getModel().getSelectedAutomaton();
+        dlFinder = null;
         tfAutomatonName2.setText(auto2.getName());
         lblAutomatonType2.setText("Automaton Type: " + auto2.getTypeProperty().get());
         taDeadlock.setText("Deadlock info: ");
@@ -129,6 +236,7 @@ public class HomeController extends AbstractController {
     @FXML
     void btnClear2_OnAction(ActionEvent event) {
         auto2 = null;
+        dlFinder = null;
         tfEnterInput2.setText("");
         tfAutomatonName2.setText("");
         lblAutomatonType2.setText("Automaton Type: ");
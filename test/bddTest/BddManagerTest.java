@@ -0,0 +1,115 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package bddTest;
+
+import bdd.BddManager;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class BddManagerTest {
+
+    private BddManager bdd;
+
+    @BeforeMethod
+    public void before() {
+        this.bdd = new BddManager(4);
+    }
+
+    @Test
+    public void and_differentOrder_sameNode() {
+        final int a = bdd.ithVar(0);
+        final int b = bdd.nithVar(2);
+        assertEquals(bdd.and(a, b), bdd.and(b, a));
+    }
+
+    @Test
+    public void not_appliedTwice_originalNode() {
+        final int function = bdd.or(bdd.ithVar(0), bdd.and(bdd.ithVar(1), bdd.nithVar(3)));
+        assertEquals(bdd.not(bdd.not(function)), function);
+    }
+
+    @Test
+    public void or_withNegation_true() {
+        final int function = bdd.and(bdd.ithVar(1), bdd.ithVar(2));
+        assertEquals(bdd.or(function, bdd.not(function)), BddManager.TRUE);
+        assertEquals(bdd.and(function, bdd.not(function)), BddManager.FALSE);
+    }
+
+    @Test
+    public void exists_quantifiedVariable_noLongerTested() {
+        final int function = bdd.and(bdd.ithVar(0), bdd.ithVar(1));
+        assertEquals(bdd.exists(function, bdd.cube(0)), bdd.ithVar(1));
+        assertEquals(bdd.exists(function, bdd.cube(0, 1)), BddManager.TRUE);
+    }
+
+    @Test
+    public void andExists_anyFunctions_sameAsExistsOfAnd() {
+        final int a = bdd.or(bdd.and(bdd.ithVar(0), bdd.ithVar(1)), bdd.and(bdd.nithVar(1), bdd.ithVar(3)));
+        final int b = bdd.or(bdd.nithVar(0), bdd.and(bdd.ithVar(2), bdd.nithVar(3)));
+        final int cube = bdd.cube(1, 3);
+        assertEquals(bdd.andExists(a, b, cube), bdd.exists(bdd.and(a, b), cube));
+    }
+
+    @Test
+    public void rename_primedToUnprimed_sameFunctionOnOtherVariables() {
+        final int primed = bdd.and(bdd.ithVar(1), bdd.nithVar(3));
+        final int[] unprime = {0, 0, 2, 2};
+        assertEquals(bdd.rename(primed, unprime), bdd.and(bdd.ithVar(0), bdd.nithVar(2)));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rename_orderChanged_throwsException() {
+        final int function = bdd.and(bdd.ithVar(0), bdd.ithVar(2));
+        bdd.rename(function, new int[]{3, 1, 2, 0});
+    }
+
+    @Test
+    public void satCount_disjunction_countsOverAllVariables() {
+        assertEquals(bdd.satCount(bdd.ithVar(2)), 8.0);
+        assertEquals(bdd.satCount(bdd.or(bdd.ithVar(0), bdd.ithVar(1))), 12.0);
+        assertEquals(bdd.satCount(BddManager.FALSE), 0.0);
+    }
+
+    @Test
+    public void anySat_satisfiable_assignmentMakesFunctionTrue() {
+        final int function = bdd.and(bdd.nithVar(0), bdd.ithVar(3));
+        final int[] assignment = bdd.anySat(function);
+        assertEquals(assignment[0], 0);
+        assertEquals(assignment[1], -1);
+        assertEquals(assignment[3], 1);
+        assertNull(bdd.anySat(BddManager.FALSE));
+    }
+
+    @Test
+    public void and_manyNodes_stillCanonicalAfterGrowing() {
+        final BddManager large = new BddManager(24);
+        int parity = BddManager.FALSE;
+        for (int var = 0; var < 24; var++) {
+            parity = large.or(large.and(parity, large.nithVar(var)), large.and(large.not(parity), large.ithVar(var)));
+        }
+        assertEquals(large.satCount(parity), Math.pow(2, 23));
+        assertEquals(large.not(large.not(parity)), parity);
+        int sparse = BddManager.FALSE;
+        for (int value = 0; value < 3000; value++) {
+            int point = BddManager.TRUE;
+            for (int var = 0; var < 24; var++) {
+                point = large.and(point, ((value * 2654435761L >>> var) & 1) != 0 ? large.ithVar(var) : large.nithVar(var));
+            }
+            sparse = large.or(sparse, point);
+        }
+        assertTrue(large.getNodeCount() > 1024);
+        assertEquals(large.satCount(sparse), 3000.0);
+    }
+
+}
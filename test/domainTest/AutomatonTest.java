@@ -7,6 +7,8 @@
 package domainTest;
 
 import domain.Automaton;
+import domain.AutomatonType;
+import domain.Transition;
 import static org.testng.Assert.assertEquals;
 import org.testng.annotations.Test;
 
@@ -141,4 +143,193 @@ public class AutomatonTest {
         assertEquals(actual, expected);
     }
     
+    @Test
+    public void parseInput_longInputDeterministicLoop_returnsTrue() {
+        Automaton fsa = makeAutomaton();
+        fsa.addTransition('A', 'B', 'a');
+        fsa.addTransition('B', 'A', 'b');
+        fsa.addEndState('A');
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append("ab");
+        }
+        boolean actual = fsa.parseInput(input.toString());
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void parseInput_unknownSymbolDeterministic_returnsFalse() {
+        Automaton fsa = makeAutomaton();
+        fsa.addTransition('A', 'B', 'a');
+        fsa.addEndState('B');
+        boolean actual = fsa.parseInput("c");
+        boolean expected = false;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void parseInput_endStateAddedAfterParsing_returnsTrue() {
+        Automaton fsa = makeAutomaton();
+        fsa.addTransition('A', 'B', 'a');
+        fsa.parseInput("a");
+        fsa.addEndState('B');
+        boolean actual = fsa.parseInput("a");
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void parseInput_nondeterministicRepeatedWords_returnsSameResult() {
+        Automaton fsa = makeAutomaton();
+        fsa.addTransition('A', 'A', 'a');
+        fsa.addTransition('A', 'A', 'b');
+        fsa.addTransition('A', 'B', 'a');
+        fsa.addTransition('B', 'C', 'b');
+        fsa.addEndState('C');
+        for (int i = 0; i < 3; i++) {
+            assertEquals(fsa.parseInput("babab"), true);
+            assertEquals(fsa.parseInput("abba"), false);
+        }
+    }
+
+    @Test
+    public void parseInput_nondeterministicCacheTooSmall_flushesAndReturnsTrue() {
+        Automaton fsa = makeAutomaton();
+        fsa.setNfaCacheSize(1);
+        fsa.addTransition('A', 'A', 'a');
+        fsa.addTransition('A', 'A', 'b');
+        fsa.addTransition('A', 'B', 'a');
+        fsa.addTransition('B', 'C', 'a');
+        fsa.addTransition('C', 'D', 'b');
+        fsa.addEndState('D');
+        boolean actual = fsa.parseInput("abbabaab");
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void parseInput_nondeterministicCacheDisabled_returnsTrue() {
+        Automaton fsa = makeAutomaton();
+        fsa.setNfaCacheSize(0);
+        fsa.addTransition('A', 'B');
+        fsa.addTransition('B', 'A', 'a');
+        fsa.addTransition('B', 'C', 'b');
+        fsa.addEndState('C');
+        boolean actual = fsa.parseInput("aab");
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void parseInput_pushdownBalancedInput_returnsTrue() {
+        Automaton pda = makeAutomaton();
+        pda.addTransition("A", "A", "a", Transition.EPSILON, '1');
+        pda.addTransition("A", "B", "b", '1', Transition.EPSILON);
+        pda.addTransition("B", "B", "b", '1', Transition.EPSILON);
+        pda.addEndState('B');
+        boolean actual = pda.parseInput("aaabbb");
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void parseInput_pushdownUnbalancedInput_returnsFalse() {
+        Automaton pda = makeAutomaton();
+        pda.addTransition("A", "A", "a", Transition.EPSILON, '1');
+        pda.addTransition("A", "B", "b", '1', Transition.EPSILON);
+        pda.addTransition("B", "B", "b", '1', Transition.EPSILON);
+        pda.addEndState('B');
+        boolean actual = pda.parseInput("aaabbbb");
+        boolean expected = false;
+        assertEquals(actual, expected);
+    }
+
+    @Test(timeOut = 5000L)
+    public void parseInput_pushdownLongInput_returnsTrue() {
+        Automaton pda = makeAutomaton();
+        pda.addTransition("A", "B", "a", Transition.EPSILON, '1');
+        pda.addTransition("B", "A", "b", '1', Transition.EPSILON);
+        pda.addEndState('A');
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            input.append("ab");
+        }
+        boolean actual = pda.parseInput(input.toString());
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    @Test(timeOut = 5000L)
+    public void parseInput_pushdownDeepStack_returnsTrue() {
+        Automaton pda = makeAutomaton();
+        pda.addTransition("A", "A", "a", Transition.EPSILON, '1');
+        pda.addTransition("A", "B", "b", '1', Transition.EPSILON);
+        pda.addTransition("B", "B", "b", '1', Transition.EPSILON);
+        pda.addEndState('B');
+        final StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 50000; i++) {
+            input.append('a');
+        }
+        for (int i = 0; i < 50000; i++) {
+            input.append('b');
+        }
+        boolean actual = pda.parseInput(input.toString());
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    private Automaton makeAnBn() {
+        Automaton pda = makeAutomaton();
+        pda.addTransition("A", "B", String.valueOf(Transition.EPSILON), Transition.EPSILON, '2');
+        pda.addTransition("B", "B", "a", Transition.EPSILON, '1');
+        pda.addTransition("B", "C", String.valueOf(Transition.EPSILON), Transition.EPSILON, Transition.EPSILON);
+        pda.addTransition("C", "C", "b", '1', Transition.EPSILON);
+        pda.addTransition("C", "D", String.valueOf(Transition.EPSILON), '2', Transition.EPSILON);
+        pda.addEndState('D');
+        return pda;
+    }
+
+    @Test
+    public void parseInput_nondeterministicPushdownBalanced_returnsTrue() {
+        Automaton pda = makeAnBn();
+        assertEquals(pda.parseInput(""), true);
+        assertEquals(pda.parseInput("ab"), true);
+        assertEquals(pda.parseInput("aaabbb"), true);
+    }
+
+    @Test
+    public void parseInput_nondeterministicPushdownUnbalanced_returnsFalse() {
+        Automaton pda = makeAnBn();
+        assertEquals(pda.parseInput("a"), false);
+        assertEquals(pda.parseInput("aab"), false);
+        assertEquals(pda.parseInput("abab"), false);
+    }
+
+    @Test(timeOut = 2000L)
+    public void parseInput_epsilonPushLoop_doesntGetStuck() {
+        Automaton pda = makeAutomaton();
+        pda.addTransition("A", "A", String.valueOf(Transition.EPSILON), Transition.EPSILON, '1');
+        pda.addTransition("A", "B", "a", '1', Transition.EPSILON);
+        pda.addTransition("B", "B", "a", '1', Transition.EPSILON);
+        pda.addEndState('B');
+        boolean actual = pda.parseInput("aaaa");
+        boolean expected = true;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void parseInput_deterministicPushdownNestedDelimiters_returnsTrueIfBalanced() {
+        Automaton pda = makeAutomaton();
+        pda.addTransition("A", "B", "<", Transition.EPSILON, '$');
+        pda.addTransition("B", "B", "(", Transition.EPSILON, '(');
+        pda.addTransition("B", "B", ")", '(', Transition.EPSILON);
+        pda.addTransition("B", "C", ">", '$', Transition.EPSILON);
+        pda.addEndState('C');
+        assertEquals(pda.getTypeProperty().get(), AutomatonType.DPDA);
+        assertEquals(pda.parseInput("<(()(()))>"), true);
+        assertEquals(pda.parseInput("<(()>"), false);
+        assertEquals(pda.parseInput("<())>"), false);
+    }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.Automaton;
+import domain.BatchResult;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class BatchAcceptorTest {
+
+    private Automaton makeEndsWithAb() {
+        final Automaton fsa = new Automaton(null);
+        fsa.addTransition('A', 'A', 'a');
+        fsa.addTransition('A', 'A', 'b');
+        fsa.addTransition('A', 'B', 'a');
+        fsa.addTransition('B', 'C', 'b');
+        fsa.addEndState('C');
+        return fsa;
+    }
+
+    private List<String> makeWords(int count) {
+        final List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            words.add(Integer.toBinaryString(i).replace('0', 'a').replace('1', 'b'));
+        }
+        return words;
+    }
+
+    @Test
+    public void parseInputs_list_matchesParseInput() {
+        final Automaton fsa = makeEndsWithAb();
+        final List<String> words = makeWords(5000);
+        final BatchResult result = fsa.parseInputs(words);
+        assertEquals(result.size(), words.size());
+        for (int i = 0; i < words.size(); i++) {
+            assertEquals(result.isAccepted(i), fsa.parseInput(words.get(i)));
+        }
+    }
+
+    @Test
+    public void parseInputs_streamLongerThanOneChunk_matchesParseInput() {
+        final Automaton fsa = makeEndsWithAb();
+        final List<String> words = makeWords(70000);
+        final BatchResult result = fsa.parseInputs(words.stream());
+        assertEquals(result.size(), words.size());
+        final long expected = IntStream.range(0, words.size())
+                .filter((i) -> words.get(i).endsWith("ab")).count();
+        assertEquals(result.getAcceptedCount(), expected);
+        assertEquals(result.isAccepted(69999), words.get(69999).endsWith("ab"));
+    }
+
+    @Test
+    public void parseInputs_file_oneWordPerLine() throws IOException {
+        final File file = File.createTempFile("words", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), Arrays.asList("ab", "ba", "aab", ""), StandardCharsets.UTF_8);
+        final BatchResult result = makeEndsWithAb().parseInputs(file);
+        assertEquals(result.size(), 4);
+        assertEquals(result.getBitmap()[0], 0b0101L);
+    }
+
+}
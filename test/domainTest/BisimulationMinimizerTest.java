@@ -0,0 +1,107 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.Automaton;
+import domain.BisimulationMinimizer;
+import domain.Transition;
+import java.util.Iterator;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class BisimulationMinimizerTest {
+
+    private int countStates(Automaton automaton) {
+        int count = 0;
+        for (Iterator<?> it = automaton.getStates(); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private void addIO(Automaton auto, String source, String target, String input) {
+        auto.addTransition(source, target, input, Transition.EPSILON, Transition.EPSILON);
+    }
+
+    @Test
+    public void minimizeStrong_identicalBranches_merged() {
+        final Automaton auto = new Automaton("auto");
+        addIO(auto, "A", "B", "W1");
+        addIO(auto, "A", "C", "W1");
+        addIO(auto, "B", "D", "R2");
+        addIO(auto, "C", "E", "R2");
+        final Automaton minimal = BisimulationMinimizer.minimizeStrong(auto);
+        assertEquals(minimal.getName(), "auto_bisim");
+        assertEquals(countStates(minimal), 3);
+        assertEquals(minimal.getStartState().getName(), "A");
+        assertTrue(minimal.containsState("B") ^ minimal.containsState("C"));
+        assertTrue(minimal.containsState("D") ^ minimal.containsState("E"));
+    }
+
+    @Test
+    public void minimizeStrong_differentChannels_notMerged() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "B", "W1");
+        addIO(auto, "A", "C", "W1");
+        addIO(auto, "B", "D", "R2");
+        addIO(auto, "C", "E", "R3");
+        assertEquals(countStates(BisimulationMinimizer.minimizeStrong(auto)), 4);
+    }
+
+    @Test
+    public void minimizeStrong_onlyOneTerminator_notMerged() {
+        final Automaton auto = new Automaton(null);
+        auto.addTransition('A', 'B', 'a');
+        auto.addTransition('A', 'C', 'a');
+        auto.addEndState('B');
+        final Automaton minimal = BisimulationMinimizer.minimizeStrong(auto);
+        assertEquals(countStates(minimal), 3);
+        assertTrue(minimal.parseInput("a"));
+    }
+
+    @Test
+    public void minimizeModuloInternal_differentInternalSteps_merged() {
+        final Automaton auto = new Automaton("auto");
+        addIO(auto, "A", "B", "W1");
+        auto.addTransition('B', 'C');
+        addIO(auto, "C", "A", "R1");
+        addIO(auto, "A", "D", "W1");
+        addIO(auto, "D", "A", "R1");
+        assertEquals(countStates(BisimulationMinimizer.minimizeStrong(auto)), 3);
+        final Automaton minimal = BisimulationMinimizer.minimizeModuloInternal(auto);
+        assertEquals(minimal.getName(), "auto_min");
+        assertEquals(countStates(minimal), 2);
+    }
+
+    @Test
+    public void minimizeModuloInternal_onlyOneCanMoveWithoutIO_notMerged() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "B", "W1");
+        addIO(auto, "A", "C", "W1");
+        addIO(auto, "B", "A", "R1");
+        addIO(auto, "C", "A", "R1");
+        auto.addTransition('C', 'D');
+        auto.addTransition('D', 'C');
+        assertEquals(countStates(BisimulationMinimizer.minimizeModuloInternal(auto)), 3);
+    }
+
+    @Test
+    public void minimize_original_unchanged() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "B", "W1");
+        addIO(auto, "A", "C", "W1");
+        BisimulationMinimizer.minimizeStrong(auto);
+        BisimulationMinimizer.minimizeModuloInternal(auto);
+        assertEquals(countStates(auto), 3);
+    }
+
+}
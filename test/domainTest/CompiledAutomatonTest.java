@@ -0,0 +1,83 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.Automaton;
+import domain.CompiledAutomaton;
+import domain.Transition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class CompiledAutomatonTest {
+
+    private Automaton makeNondeterministic() {
+        final Automaton fsa = new Automaton(null);
+        fsa.addTransition('A', 'A', 'a');
+        fsa.addTransition('A', 'A', 'b');
+        fsa.addTransition('A', 'B', 'a');
+        fsa.addTransition('B', 'C', 'b');
+        fsa.addEndState('C');
+        return fsa;
+    }
+
+    @Test
+    public void accepts_automatonEditedAfterCompiling_snapshotUnchanged() {
+        final Automaton fsa = makeNondeterministic();
+        final CompiledAutomaton snapshot = fsa.compile();
+        fsa.addTransition('C', 'D', 'c');
+        fsa.addEndState('D');
+        assertFalse(snapshot.accepts("abc"));
+        assertTrue(fsa.parseInput("abc"));
+    }
+
+    @Test
+    public void compile_noChanges_returnsSameSnapshot() {
+        final Automaton fsa = makeNondeterministic();
+        assertTrue(fsa.compile() == fsa.compile());
+    }
+
+    @Test
+    public void accepts_ioAutomaton_ignoresIOTransitions() {
+        final Automaton ioa = new Automaton(null);
+        ioa.addTransition("A", "B", "W1", Transition.EPSILON, Transition.EPSILON);
+        ioa.addTransition('A', 'C', 'a');
+        ioa.addEndState('B');
+        ioa.addEndState('C');
+        assertTrue(ioa.compile().accepts("a"));
+        assertFalse(ioa.compile().accepts("W1"));
+    }
+
+    @Test(timeOut = 10000L)
+    public void accepts_manyThreads_allResultsCorrect() throws Exception {
+        final CompiledAutomaton snapshot = makeNondeterministic().compile();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 800; i++) {
+                final String word = Integer.toBinaryString(i).replace('0', 'a').replace('1', 'b');
+                results.add(executor.submit(() -> snapshot.accepts(word) == word.endsWith("ab")));
+            }
+            for (Future<Boolean> result : results) {
+                assertEquals(result.get(), Boolean.TRUE);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
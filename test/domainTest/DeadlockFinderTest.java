@@ -7,10 +7,22 @@
 package domainTest;
 
 import domain.Automaton;
+import domain.CancellationToken;
 import domain.DeadlockFinder;
+import domain.DeadlockProgress;
+import domain.ExplorationMode;
 import domain.State;
+import domain.SyncStep;
 import domain.Transition;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -124,7 +136,474 @@ public class DeadlockFinderTest {
         final boolean expected = false;
         assertEquals(actual, expected);
     }
-    
-    
+
+    @Test
+    public void hasDeadlock_threeProcessesPassingOnMessage_noDeadlockSoReturnsFalse() {
+        final Automaton autoC = makeAutomaton("X");
+        autoA.addTransition("A", "B", "W1", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("P", "Q", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("Q", "R", "W2", Transition.EPSILON, Transition.EPSILON);
+        autoC.addTransition("X", "Y", "R2", Transition.EPSILON, Transition.EPSILON);
+        final boolean actual = new DeadlockFinder(autoA, autoB, autoC).hasDeadlock();
+        final boolean expected = false;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void hasDeadlock_threeProcessesNoPartnerLeft_deadlockSoReturnsTrue() {
+        final Automaton autoC = makeAutomaton("X");
+        autoA.addTransition("A", "B", "W1", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("P", "Q", "W2", Transition.EPSILON, Transition.EPSILON);
+        autoC.addTransition("X", "Y", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoC.addTransition("Y", "Z", "R3", Transition.EPSILON, Transition.EPSILON);
+        final DeadlockFinder finder = new DeadlockFinder(autoA, autoB, autoC);
+        final boolean actual = finder.hasDeadlock();
+        final boolean expected = true;
+        assertEquals(actual, expected);
+        assertEquals(finder.getLog(), "Deadlocks at: (Sink, P, Y)");
+    }
+
+    @Test
+    public void hasDeadlock_calledAgainAfterEdit_checksEditedAutomata() {
+        addIO(autoA, "A", "B", "R1");
+        addIO(autoB, "P", "Q", "W1");
+        assertEquals(dlFinder.hasDeadlock(), false);
+        addIO(autoA, "B", "C", "R1");
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (B, Sink)");
+    }
+
+    @Test
+    public void hasDeadlock_parallelNoDeadlock_returnsFalse() {
+        autoA.addTransition("A", "B", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition("B", "A", "R2", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("P", "P", "W1", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("P", "P", "W2", Transition.EPSILON, Transition.EPSILON);
+        dlFinder.setExplorationMode(ExplorationMode.PARALLEL);
+        final boolean actual = dlFinder.hasDeadlock();
+        final boolean expected = false;
+        assertEquals(actual, expected);
+    }
+
+    @Test
+    public void hasDeadlock_parallelDeadlockAfterSeveralSteps_returnsTrue() {
+        autoA.addTransition("A", "B", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition("B", "C", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition("C", "D", "R2", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("P", "P", "W1", Transition.EPSILON, Transition.EPSILON);
+        dlFinder.setExplorationMode(ExplorationMode.PARALLEL);
+        final boolean actual = dlFinder.hasDeadlock();
+        final boolean expected = true;
+        assertEquals(actual, expected);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (C, P)");
+    }
+
+    @Test
+    public void hasDeadlock_vectorsDontFitInLong_stillFindsDeadlock() {
+        final Automaton[] processes = new Automaton[33];
+        for (int i = 0; i < processes.length; i++) {
+            processes[i] = makeAutomaton("A");
+            processes[i].addTransition('A', 'B', 'a');
+            processes[i].addTransition('B', 'C', 'a');
+        }
+        assertEquals(new DeadlockFinder(processes).hasDeadlock(), false);
+        processes[0] = makeAutomaton("A");
+        processes[0].addTransition("A", "D", "W1", Transition.EPSILON, Transition.EPSILON);
+        assertEquals(new DeadlockFinder(processes).hasDeadlock(), true);
+    }
+
+    private void addIO(Automaton auto, String source, String target, String input) {
+        auto.addTransition(source, target, input, Transition.EPSILON, Transition.EPSILON);
+    }
+
+    private void makeTwoPathsToDeadlock() {
+        addIO(autoA, "A", "B", "W1");
+        addIO(autoA, "B", "C", "W2");
+        addIO(autoA, "C", "X", "W9");
+        addIO(autoA, "A", "D", "W3");
+        addIO(autoA, "D", "E", "W4");
+        addIO(autoA, "E", "F", "W5");
+        addIO(autoA, "F", "X", "W9");
+        addIO(autoB, "P", "Q", "R1");
+        addIO(autoB, "Q", "R", "R2");
+        addIO(autoB, "P", "S", "R3");
+        addIO(autoB, "S", "T", "R4");
+        addIO(autoB, "T", "U", "R5");
+    }
+
+    @Test
+    public void getTrace_twoPathsToDeadlock_shortestPath() {
+        makeTwoPathsToDeadlock();
+        dlFinder.setTraceRecording(true);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        final List<SyncStep> trace = dlFinder.getTrace();
+        assertEquals(trace.size(), 2);
+        assertEquals(trace.get(0).getTransition1().getInput(), "W1");
+        assertEquals(trace.get(0).getTransition2().getInput(), "R1");
+        assertEquals(trace.get(1).getTransition1().getInput(), "W2");
+        assertEquals(trace.get(1).getTransition2().getInput(), "R2");
+        assertEquals(trace.get(1).toString(), "0: B -W2-> C, 1: Q -R2-> R");
+    }
+
+    @Test
+    public void getTrace_incrementalAfterReducedCheck_sameTrace() {
+        makeTwoPathsToDeadlock();
+        dlFinder.setTraceRecording(true);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (C, Sink)");
+        assertEquals(dlFinder.getTrace().get(1).toString(), "0: B -W2-> C, 1: Q -R2-> R");
+        dlFinder.setIncrementalReverification(true);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (C, Sink)");
+        assertEquals(dlFinder.getTrace().get(1).toString(), "0: B -W2-> C, 1: Q -R2-> R");
+    }
+
+    @Test
+    public void getTrace_parallel_shortestPath() {
+        makeTwoPathsToDeadlock();
+        dlFinder.setTraceRecording(true);
+        dlFinder.setExplorationMode(ExplorationMode.PARALLEL);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getTrace().size(), 2);
+    }
+
+    @Test
+    public void getTrace_threeProcesses_stepsNameProcesses() {
+        final Automaton autoC = makeAutomaton("X");
+        addIO(autoA, "A", "B", "W1");
+        addIO(autoB, "P", "Q", "R1");
+        addIO(autoB, "Q", "R", "W2");
+        addIO(autoC, "X", "Y", "R2");
+        addIO(autoC, "Y", "Z", "R3");
+        final DeadlockFinder finder = new DeadlockFinder(autoA, autoB, autoC);
+        finder.setTraceRecording(true);
+        assertEquals(finder.hasDeadlock(), true);
+        final List<SyncStep> trace = finder.getTrace();
+        assertEquals(trace.size(), 2);
+        assertEquals(trace.get(0).getProcess1(), 0);
+        assertEquals(trace.get(0).getProcess2(), 1);
+        assertEquals(trace.get(1).getProcess1(), 1);
+        assertEquals(trace.get(1).getProcess2(), 2);
+    }
+
+    @Test
+    public void getTrace_notRecording_empty() {
+        makeTwoPathsToDeadlock();
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertTrue(dlFinder.getTrace().isEmpty());
+    }
+
+    /**
+     * Three pairs of processes. Each writer sends ten messages to its reader
+     * over a channel of its own.
+     */
+    private Automaton[] makeIndependentPairs(int extraWrites) {
+        return makeIndependentPairs(10, extraWrites);
+    }
+
+    private Automaton[] makeIndependentPairs(int messages, int extraWrites) {
+        final Automaton[] processes = new Automaton[6];
+        for (int pair = 0; pair < 3; pair++) {
+            processes[2 * pair] = makeAutomaton("S0");
+            processes[2 * pair + 1] = makeAutomaton("R0");
+            final String channel = String.valueOf(pair + 1);
+            for (int i = 0; i < messages + (pair == 2 ? extraWrites : 0); i++) {
+                addIO(processes[2 * pair], "S" + i, "S" + (i + 1), "W" + channel);
+            }
+            for (int i = 0; i < messages; i++) {
+                addIO(processes[2 * pair + 1], "R" + i, "R" + (i + 1), "R" + channel);
+            }
+        }
+        return processes;
+    }
+
+    @Test
+    public void hasDeadlock_partialOrderReductionIndependentPairs_fewerVectorsSameAnswer() {
+        final DeadlockFinder full = new DeadlockFinder(makeIndependentPairs(0));
+        final DeadlockFinder reduced = new DeadlockFinder(makeIndependentPairs(0));
+        reduced.setPartialOrderReduction(true);
+        assertEquals(full.hasDeadlock(), false);
+        assertEquals(reduced.hasDeadlock(), false);
+        assertEquals(full.getResolvedCount(), 11 * 11 * 11);
+        assertTrue(reduced.getResolvedCount() <= 3 * 11);
+    }
+
+    @Test
+    public void hasDeadlock_partialOrderReductionIndependentPairs_deadlockFound() {
+        final DeadlockFinder reduced = new DeadlockFinder(makeIndependentPairs(1));
+        reduced.setPartialOrderReduction(true);
+        reduced.setTraceRecording(true);
+        assertEquals(reduced.hasDeadlock(), true);
+        assertEquals(reduced.getTrace().size(), 30);
+    }
+
+    @Test(expectedExceptions = CancellationException.class)
+    public void hasDeadlock_cancelledBeforeStart_throwsException() {
+        final CancellationToken token = new CancellationToken();
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(0));
+        finder.setCancellationToken(token);
+        token.cancel();
+        finder.hasDeadlock();
+    }
+
+    @Test
+    public void hasDeadlock_stateBudgetExceeded_throwsAfterBudget() {
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(0));
+        finder.setStateBudget(100);
+        try {
+            finder.hasDeadlock();
+            fail("The budget should have stopped the search.");
+        } catch (CancellationException ex) {
+            assertEquals(finder.getResolvedCount(), 100L);
+            assertEquals(finder.getProgress().getResolvedCount(), 100L);
+            assertTrue(finder.getProgress().getFrontierSize() > 0);
+        }
+    }
+
+    @Test(expectedExceptions = CancellationException.class, timeOut = 10000L)
+    public void hasDeadlock_parallelTimeBudgetExceeded_throwsException() {
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(0));
+        finder.setExplorationMode(ExplorationMode.PARALLEL);
+        finder.setTimeBudget(0);
+        finder.hasDeadlock();
+    }
+
+    private Transition findTransition(Automaton auto, String source, String input) {
+        final Iterator<State> itStates = auto.getStates();
+        while (itStates.hasNext()) {
+            final State state = itStates.next();
+            if (state.getName().equals(source)) {
+                return state.getTransitionsStream()
+                        .filter((trans) -> trans.getInput().equals(input))
+                        .findFirst().get();
+            }
+        }
+        throw new IllegalArgumentException(source);
+    }
+
+    @Test
+    public void hasDeadlock_incrementalNothingEdited_resolvesNothing() {
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(0));
+        finder.setIncrementalReverification(true);
+        assertEquals(finder.hasDeadlock(), false);
+        assertEquals(finder.getResolvedCount(), 11L * 11 * 11);
+        assertEquals(finder.hasDeadlock(), false);
+        assertEquals(finder.getResolvedCount(), 0L);
+    }
+
+    @Test
+    public void hasDeadlock_incrementalSmallEdit_resolvesOnlyAffectedVectors() {
+        final Automaton[] processes = makeIndependentPairs(0);
+        final DeadlockFinder finder = new DeadlockFinder(processes);
+        finder.setIncrementalReverification(true);
+        assertEquals(finder.hasDeadlock(), false);
+        processes[5].addTransition("R10", "R10", String.valueOf(Transition.EPSILON),
+                Transition.EPSILON, Transition.EPSILON);
+        assertEquals(finder.hasDeadlock(), false);
+        assertTrue(finder.getResolvedCount() <= 2 * 11 * 11);
+    }
+
+    @Test
+    public void hasDeadlock_incrementalDeadlockAddedAndRemoved_followsEdits() {
+        final Automaton[] processes = makeIndependentPairs(0);
+        final DeadlockFinder finder = new DeadlockFinder(processes);
+        finder.setIncrementalReverification(true);
+        finder.setTraceRecording(true);
+        assertEquals(finder.hasDeadlock(), false);
+        addIO(processes[4], "S10", "S11", "W3");
+        assertEquals(finder.hasDeadlock(), true);
+        assertEquals(finder.getTrace().size(), 30);
+        processes[4].removeTransition(findTransition(processes[4], "S10", "W3"));
+        assertEquals(finder.hasDeadlock(), false);
+        assertTrue(finder.getTrace().isEmpty());
+    }
+
+    @Test
+    public void hasDeadlock_incrementalEditMakesDeadlockUnreachable_noDeadlock() {
+        addIO(autoA, "A", "B", "R1");
+        addIO(autoA, "B", "C", "R2");
+        addIO(autoB, "P", "Q", "W1");
+        addIO(autoB, "Q", "R", "W3");
+        dlFinder.setIncrementalReverification(true);
+        dlFinder.setExplorationMode(ExplorationMode.PARALLEL);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        autoB.removeTransition(findTransition(autoB, "Q", "W3"));
+        addIO(autoB, "Q", "R", "W2");
+        assertEquals(dlFinder.hasDeadlock(), false);
+        autoA.removeTransition(findTransition(autoA, "A", "R1"));
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (Sink, P)");
+    }
+
+    @Test
+    public void hasDeadlock_symbolicDeadlockAfterSeveralSteps_sameAsExplicit() {
+        autoA.addTransition("A", "B", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition("B", "C", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition("C", "D", "R2", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("P", "P", "W1", Transition.EPSILON, Transition.EPSILON);
+        dlFinder.setExplorationMode(ExplorationMode.SYMBOLIC);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (C, P)");
+    }
+
+    @Test
+    public void hasDeadlock_symbolicLoopingSinkWithEscape_noDeadlock() {
+        autoA.addTransition("A", "B", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition('A', 'C');
+        autoA.addTransition('C', 'D');
+        autoA.addTransition('D', 'C');
+        autoA.addTransition('D', 'A');
+        autoB.addTransition("P", "Q", "W1", Transition.EPSILON, Transition.EPSILON);
+        dlFinder.setExplorationMode(ExplorationMode.SYMBOLIC);
+        assertEquals(dlFinder.hasDeadlock(), false);
+    }
+
+    @Test
+    public void hasDeadlock_symbolicIndependentPairs_countsEveryVector() {
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(0));
+        finder.setExplorationMode(ExplorationMode.SYMBOLIC);
+        assertEquals(finder.hasDeadlock(), false);
+        assertEquals(finder.getResolvedCount(), 11L * 11 * 11);
+    }
+
+    @Test(timeOut = 60000L)
+    public void hasDeadlock_symbolicProductTooLargeToEnumerate_deadlockFound() {
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(150, 1));
+        finder.setExplorationMode(ExplorationMode.SYMBOLIC);
+        assertEquals(finder.hasDeadlock(), true);
+        assertEquals(finder.getLog(), "Deadlocks at: (Sink, Sink, Sink, Sink, S150, Sink)");
+        assertEquals(finder.getResolvedCount(), 151L * 151 * 151);
+    }
+
+    @Test
+    public void hasDeadlock_diskBackedIndependentPairs_resolvesEveryVector() throws IOException {
+        final File directory = Files.createTempDirectory("deadlock").toFile();
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(0));
+        finder.setExplorationMode(ExplorationMode.DISK_BACKED);
+        finder.setScratchDirectory(directory);
+        finder.setDiskCacheSize(64);
+        assertEquals(finder.hasDeadlock(), false);
+        assertEquals(finder.getResolvedCount(), 11L * 11 * 11);
+        assertEquals(directory.list().length, 0);
+        directory.delete();
+    }
+
+    @Test
+    public void hasDeadlock_diskBackedDeadlockAfterSeveralSteps_returnsTrue() {
+        autoA.addTransition("A", "B", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition("B", "C", "R1", Transition.EPSILON, Transition.EPSILON);
+        autoA.addTransition("C", "D", "R2", Transition.EPSILON, Transition.EPSILON);
+        autoB.addTransition("P", "P", "W1", Transition.EPSILON, Transition.EPSILON);
+        dlFinder.setExplorationMode(ExplorationMode.DISK_BACKED);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (C, P)");
+    }
+
+    @Test
+    public void hasDeadlock_internalCycleWithoutIO_deadlockInSink() {
+        autoA.addTransition('A', 'B');
+        autoA.addTransition('A', 'C');
+        autoA.addTransition('B', 'C');
+        autoA.addTransition('C', 'A');
+        autoA.addTransition('C', 'C');
+        autoA.addTransition('C', 'D');
+        autoA.addTransition('D', 'C');
+        addIO(autoB, "P", "Q", "R1");
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (Sink, P)");
+    }
+
+    @Test
+    public void hasDeadlock_tauQuotientInternalSteps_sameLogAsOriginal() {
+        addIO(autoA, "A", "B", "R1");
+        autoA.addTransition('B', 'C');
+        autoA.addTransition('C', 'D', 'x');
+        addIO(autoA, "D", "E", "R1");
+        autoA.addTransition('E', 'F');
+        addIO(autoA, "F", "G", "R2");
+        addIO(autoB, "P", "P", "W1");
+        dlFinder.setTauQuotient(true);
+        dlFinder.setTraceRecording(true);
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (F, P)");
+        assertEquals(dlFinder.getTrace().get(1).toString(), "0: D -R1-> F, 1: P -W1-> P");
+    }
+
+    /**
+     * A writer that sends over channel 1 along one of several copies of the
+     * same path, and a reader that reads twice.
+     */
+    private Automaton[] makeReplicatedWriter(int copies) {
+        final Automaton writer = makeAutomaton("A");
+        for (int copy = 0; copy < copies; copy++) {
+            addIO(writer, "A", "B" + copy, "W1");
+            writer.addTransition("B" + copy, "C" + copy, "x", Transition.EPSILON, Transition.EPSILON);
+            addIO(writer, "C" + copy, "D" + copy, "W1");
+            addIO(writer, "D" + copy, "E", "W1");
+        }
+        final Automaton reader = makeAutomaton("P");
+        addIO(reader, "P", "Q", "R1");
+        addIO(reader, "Q", "R", "R1");
+        return new Automaton[]{writer, reader};
+    }
+
+    @Test
+    public void hasDeadlock_replicatedPaths_reducedByDefault() {
+        final DeadlockFinder plain = new DeadlockFinder(makeReplicatedWriter(5));
+        plain.setBisimulationReduction(false);
+        assertEquals(plain.hasDeadlock(), true);
+        final DeadlockFinder reduced = new DeadlockFinder(makeReplicatedWriter(5));
+        assertEquals(reduced.hasDeadlock(), true);
+        assertTrue(reduced.getLog().matches("Deadlocks at: \\(D[0-4], Sink\\)"), reduced.getLog());
+        assertEquals(reduced.getResolvedCount(), 3L);
+        assertTrue(plain.getResolvedCount() > reduced.getResolvedCount());
+    }
+
+    @Test
+    public void hasDeadlock_incrementalReverification_notReduced() {
+        final DeadlockFinder plain = new DeadlockFinder(makeReplicatedWriter(5));
+        plain.setBisimulationReduction(false);
+        plain.hasDeadlock();
+        final DeadlockFinder incremental = new DeadlockFinder(makeReplicatedWriter(5));
+        incremental.setIncrementalReverification(true);
+        assertEquals(incremental.hasDeadlock(), true);
+        assertEquals(incremental.getResolvedCount(), plain.getResolvedCount());
+    }
+
+    @Test
+    public void hasDeadlock_incrementalAfterReducedCheck_seesEdits() {
+        addIO(autoA, "A", "B", "W1");
+        addIO(autoB, "P", "Q", "R1");
+        assertEquals(dlFinder.hasDeadlock(), false);
+        dlFinder.setIncrementalReverification(true);
+        autoA.removeTransition(autoA.getStartState().getTransitions().next());
+        addIO(autoA, "A", "B", "W2");
+        assertEquals(dlFinder.hasDeadlock(), true);
+        assertEquals(dlFinder.getLog(), "Deadlocks at: (A, P)");
+    }
+
+    @Test
+    public void hasDeadlock_incrementalAfterOtherMode_seesEdits() {
+        addIO(autoA, "A", "B", "W1");
+        addIO(autoB, "P", "Q", "R1");
+        dlFinder.setIncrementalReverification(true);
+        dlFinder.setExplorationMode(ExplorationMode.SYMBOLIC);
+        assertEquals(dlFinder.hasDeadlock(), false);
+        dlFinder.setExplorationMode(ExplorationMode.SEQUENTIAL);
+        autoA.removeTransition(autoA.getStartState().getTransitions().next());
+        addIO(autoA, "A", "B", "W2");
+        assertEquals(dlFinder.hasDeadlock(), true);
+    }
+
+    @Test
+    public void getProgress_searchFinished_allResolvedNothingWaiting() {
+        final DeadlockFinder finder = new DeadlockFinder(makeIndependentPairs(0));
+        assertEquals(finder.getProgress().getResolvedCount(), 0L);
+        finder.hasDeadlock();
+        final DeadlockProgress progress = finder.getProgress();
+        assertEquals(progress.getResolvedCount(), 11L * 11 * 11);
+        assertEquals(progress.getFrontierSize(), 0);
+        assertTrue(progress.getElapsedNanos() > 0);
+    }
 
 }
@@ -0,0 +1,122 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.Automaton;
+import domain.AutomatonType;
+import domain.DfaMinimizer;
+import domain.Transition;
+import java.util.Iterator;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class DfaMinimizerTest {
+
+    private int countStates(Automaton automaton) {
+        int count = 0;
+        for (Iterator<?> it = automaton.getStates(); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private void assertSameLanguage(Automaton expected, Automaton actual, int maxLength) {
+        for (int length = 0; length <= maxLength; length++) {
+            for (int i = 0; i < 1 << length; i++) {
+                final StringBuilder word = new StringBuilder();
+                for (int bit = 0; bit < length; bit++) {
+                    word.append((i & (1 << bit)) == 0 ? 'a' : 'b');
+                }
+                assertEquals(actual.parseInput(word.toString()), expected.parseInput(word.toString()), word.toString());
+            }
+        }
+    }
+
+    @Test
+    public void minimize_equivalentStates_merged() {
+        final Automaton dfa = new Automaton("dfa");
+        dfa.addTransition('A', 'B', 'a');
+        dfa.addTransition('A', 'C', 'b');
+        dfa.addTransition('B', 'D', 'a');
+        dfa.addTransition('C', 'E', 'a');
+        dfa.addEndState('D');
+        dfa.addEndState('E');
+        final Automaton minimal = dfa.minimize();
+        assertEquals(countStates(minimal), 3);
+        assertEquals(minimal.getName(), "dfa_min");
+        assertEquals(minimal.getTypeProperty().get(), AutomatonType.DFA);
+        assertSameLanguage(dfa, minimal, 6);
+    }
+
+    @Test
+    public void minimize_unreachableAndDeadStates_removed() {
+        final Automaton dfa = new Automaton(null);
+        dfa.addTransition('A', 'B', 'a');
+        dfa.addTransition('A', 'C', 'b');
+        dfa.addTransition('C', 'C', 'a');
+        dfa.addTransition('X', 'B', 'b');
+        dfa.addEndState('B');
+        final Automaton minimal = DfaMinimizer.minimize(dfa);
+        assertEquals(countStates(minimal), 2);
+        assertTrue(minimal.containsState("A"));
+        assertTrue(minimal.containsState("B"));
+        assertSameLanguage(dfa, minimal, 6);
+    }
+
+    @Test
+    public void minimize_nondeterministic_determinizedAndMinimal() {
+        final Automaton nfa = new Automaton(null);
+        nfa.addTransition('A', 'A', 'a');
+        nfa.addTransition('A', 'A', 'b');
+        nfa.addTransition('A', 'B', 'a');
+        nfa.addTransition('B', 'C');
+        nfa.addTransition('C', 'D', 'b');
+        nfa.addEndState('D');
+        final Automaton minimal = nfa.minimize();
+        assertEquals(minimal.getTypeProperty().get(), AutomatonType.DFA);
+        assertEquals(countStates(minimal), 3);
+        assertTrue(minimal.containsState("{A,B,C}"));
+        assertSameLanguage(nfa, minimal, 8);
+    }
+
+    @Test
+    public void minimize_emptyLanguage_singleState() {
+        final Automaton dfa = new Automaton(null);
+        dfa.addTransition('A', 'B', 'a');
+        dfa.addTransition('B', 'A', 'b');
+        final Automaton minimal = dfa.minimize();
+        assertEquals(countStates(minimal), 1);
+        assertFalse(minimal.parseInput(""));
+        assertFalse(minimal.parseInput("ab"));
+    }
+
+    @Test
+    public void minimize_original_unchanged() {
+        final Automaton dfa = new Automaton(null);
+        dfa.addTransition('A', 'B', 'a');
+        dfa.addTransition('A', 'C', 'b');
+        dfa.addEndState('B');
+        dfa.addEndState('C');
+        dfa.minimize();
+        assertEquals(countStates(dfa), 3);
+        assertTrue(dfa.parseInput("b"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void minimize_pushdownAutomaton_throwsException() {
+        final Automaton pda = new Automaton(null);
+        pda.addTransition("A", "B", "a", Transition.EPSILON, 'x');
+        pda.minimize();
+    }
+
+}
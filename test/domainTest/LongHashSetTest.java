@@ -0,0 +1,74 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.LongHashSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class LongHashSetTest {
+
+    @Test
+    public void add_newValue_returnsTrue() {
+        final LongHashSet set = new LongHashSet();
+        assertTrue(set.add(42L));
+        assertTrue(set.contains(42L));
+        assertEquals(set.size(), 1);
+    }
+
+    @Test
+    public void add_duplicateValue_returnsFalse() {
+        final LongHashSet set = new LongHashSet();
+        set.add(42L);
+        assertFalse(set.add(42L));
+        assertEquals(set.size(), 1);
+    }
+
+    @Test
+    public void add_zero_storedLikeAnyOtherValue() {
+        final LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(0L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(set.size(), 1);
+    }
+
+    @Test
+    public void add_manyValues_allFoundAfterGrowing() {
+        final LongHashSet set = new LongHashSet();
+        for (long i = -5000; i < 5000; i++) {
+            assertTrue(set.add(i << 20));
+        }
+        assertEquals(set.size(), 10000);
+        for (long i = -5000; i < 5000; i++) {
+            assertTrue(set.contains(i << 20));
+            assertFalse(set.contains((i << 20) + 1));
+        }
+    }
+
+    @Test
+    public void clear_afterGrowing_emptyAndUsable() {
+        final LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 100; i++) {
+            set.add(i);
+        }
+        set.clear();
+        assertEquals(set.size(), 0);
+        assertFalse(set.contains(0L));
+        assertFalse(set.contains(50L));
+        assertTrue(set.add(50L));
+        assertEquals(set.size(), 1);
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.MappedLongHashSet;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class MappedLongHashSetTest {
+
+    private File directory;
+
+    @BeforeMethod
+    public void before() throws IOException {
+        this.directory = Files.createTempDirectory("mapped").toFile();
+    }
+
+    @AfterMethod
+    public void after() {
+        directory.delete();
+    }
+
+    @Test
+    public void add_sameValueTwice_secondTimeFalse() throws IOException {
+        try (MappedLongHashSet set = new MappedLongHashSet(directory, 16)) {
+            assertTrue(set.add(42L));
+            assertFalse(set.add(42L));
+            assertTrue(set.contains(42L));
+            assertFalse(set.contains(43L));
+            assertEquals(set.size(), 1L);
+        }
+    }
+
+    @Test
+    public void add_zero_storedSeparately() throws IOException {
+        try (MappedLongHashSet set = new MappedLongHashSet(directory, 16)) {
+            assertFalse(set.contains(0L));
+            assertTrue(set.add(0L));
+            assertFalse(set.add(0L));
+            assertTrue(set.contains(0L));
+        }
+    }
+
+    @Test
+    public void add_moreValuesThanCacheAndTable_allFoundAfterGrowing() throws IOException {
+        try (MappedLongHashSet set = new MappedLongHashSet(directory, 64)) {
+            for (long i = 1; i <= 200000; i++) {
+                assertTrue(set.add(i << 20));
+            }
+            assertEquals(set.size(), 200000L);
+            for (long i = 1; i <= 200000; i++) {
+                assertTrue(set.contains(i << 20));
+                assertFalse(set.contains((i << 20) + 1));
+                assertFalse(set.add(i << 20));
+            }
+        }
+    }
+
+    @Test
+    public void close_afterGrowing_filesDeleted() throws IOException {
+        final MappedLongHashSet set = new MappedLongHashSet(directory, 16);
+        for (long i = 1; i <= 100000; i++) {
+            set.add(i);
+        }
+        set.close();
+        assertEquals(directory.list().length, 0);
+    }
+
+}
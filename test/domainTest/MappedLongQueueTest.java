@@ -0,0 +1,79 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.MappedLongQueue;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.NoSuchElementException;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class MappedLongQueueTest {
+
+    private File directory;
+
+    @BeforeMethod
+    public void before() throws IOException {
+        this.directory = Files.createTempDirectory("mapped").toFile();
+    }
+
+    @AfterMethod
+    public void after() {
+        directory.delete();
+    }
+
+    @Test
+    public void poll_afterAddingSeveral_firstInFirstOut() throws IOException {
+        try (MappedLongQueue queue = new MappedLongQueue(directory)) {
+            queue.add(3L);
+            queue.add(1L);
+            queue.add(2L);
+            assertEquals(queue.poll(), 3L);
+            queue.add(4L);
+            assertEquals(queue.poll(), 1L);
+            assertEquals(queue.poll(), 2L);
+            assertEquals(queue.poll(), 4L);
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void poll_empty_throwsException() throws IOException {
+        try (MappedLongQueue queue = new MappedLongQueue(directory)) {
+            queue.poll();
+        }
+    }
+
+    @Test
+    public void poll_valuesSpanSeveralSegments_usedSegmentsDeleted() throws IOException {
+        final long count = (1 << 20) * 5L / 2;
+        try (MappedLongQueue queue = new MappedLongQueue(directory)) {
+            for (long i = 0; i < count; i++) {
+                queue.add(i);
+            }
+            assertEquals(directory.list().length, 3);
+            for (long i = 0; i < count; i++) {
+                assertEquals(queue.poll(), i);
+            }
+            assertEquals(queue.size(), 0L);
+            assertEquals(directory.list().length, 1);
+            queue.add(7L);
+            assertEquals(queue.poll(), 7L);
+        }
+        assertEquals(directory.list().length, 0);
+    }
+
+}
@@ -9,6 +9,8 @@ package domainTest;
 import domain.State;
 import domain.StatePair;
 import domain.Transition;
+import java.util.Set;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertTrue;
 import org.testng.annotations.Test;
@@ -99,4 +101,54 @@ public class StatePairTest {
         assertFalse(pair.deadlocks());
     }
 
+    @Test
+    public void doIOOperations_severalChannels_onlyMatchingPairsFollowed() {
+        final State targetA = new State("A");
+        final State targetB = new State("B");
+        final State targetP = new State("P");
+        final State state1 = new State(null,
+                new Transition(null, targetA, "R1", Transition.EPSILON, Transition.EPSILON),
+                new Transition(null, targetB, "W2", Transition.EPSILON, Transition.EPSILON),
+                new Transition(null, targetB, "R3", Transition.EPSILON, Transition.EPSILON));
+        final State state2 = new State(null,
+                new Transition(null, targetP, "W1", Transition.EPSILON, Transition.EPSILON),
+                new Transition(null, targetP, "W2", Transition.EPSILON, Transition.EPSILON));
+        final Set<StatePair> actual = new StatePair(state1, state2).doIOOperations();
+        assertEquals(actual.size(), 1);
+        assertTrue(actual.contains(new StatePair(targetA, targetP)));
+    }
+
+    @Test
+    public void canSynchronize_transitionAddedLater_seesNewTransition() {
+        final State state1 = new State(null, getSingleR1Trans());
+        final State state2 = new State(null, getSingleW2Trans());
+        final StatePair pair = new StatePair(state1, state2);
+        assertFalse(pair.canSynchronize());
+        state2.addTransition(getSingleW1Trans());
+        assertTrue(pair.canSynchronize());
+    }
+
+    @Test
+    public void canSynchronize_invalidChannel_false() {
+        final State state1 = new State(null, new Transition(null, null, "Rx", Transition.EPSILON, Transition.EPSILON));
+        final State state2 = new State(null, new Transition(null, null, "Wx", Transition.EPSILON, Transition.EPSILON));
+        assertFalse(new StatePair(state1, state2).canSynchronize());
+    }
+
+    @Test
+    public void deadlocks_matchingIOOnHighChannel_false() {
+        final State state1 = new State(null, new Transition(null, null, "R100", Transition.EPSILON, Transition.EPSILON));
+        final State state2 = new State(null, new Transition(null, null, "W100", Transition.EPSILON, Transition.EPSILON));
+        assertFalse(new StatePair(state1, state2).deadlocks());
+    }
+
+    @Test
+    public void deadlocks_mismatchingIOOnHighChannels_true() {
+        final State state1 = new State(null, new Transition(null, null, "R100", Transition.EPSILON, Transition.EPSILON),
+                new Transition(null, null, "W36", Transition.EPSILON, Transition.EPSILON));
+        final State state2 = new State(null, new Transition(null, null, "W164", Transition.EPSILON, Transition.EPSILON),
+                new Transition(null, null, "R100", Transition.EPSILON, Transition.EPSILON));
+        assertTrue(new StatePair(state1, state2).deadlocks());
+    }
+
 }
@@ -0,0 +1,101 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.Automaton;
+import domain.SinkState;
+import domain.State;
+import domain.Transition;
+import java.util.Set;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class StateTest {
+
+    private boolean containsState(Set<State> states, String name) {
+        return states.stream().anyMatch(state -> state.getName().equals(name));
+    }
+
+    @Test
+    public void collectContingencies_calledTwice_returnsCachedSet() {
+        final Automaton auto = new Automaton(null);
+        auto.addTransition('A', 'B');
+        auto.addTransition("B", "C", "W1", Transition.EPSILON, Transition.EPSILON);
+        final Set<State> first = auto.getStartState().collectContingencies();
+        assertTrue(first == auto.getStartState().collectContingencies());
+        assertEquals(first.size(), 1);
+        assertTrue(containsState(first, "B"));
+    }
+
+    @Test
+    public void collectContingencies_transitionAddedFurtherOn_recalculated() {
+        final Automaton auto = new Automaton(null);
+        auto.addTransition('A', 'B');
+        auto.addTransition('B', 'C');
+        assertFalse(containsState(auto.getStartState().collectContingencies(), "C"));
+        auto.addTransition("C", "D", "R1", Transition.EPSILON, Transition.EPSILON);
+        assertTrue(containsState(auto.getStartState().collectContingencies(), "C"));
+    }
+
+    @Test
+    public void collectContingencies_transitionRemoved_recalculated() {
+        final Automaton auto = new Automaton(null);
+        auto.addTransition('A', 'B');
+        auto.addTransition("B", "C", "W1", Transition.EPSILON, Transition.EPSILON);
+        assertTrue(containsState(auto.getStartState().collectContingencies(), "B"));
+        auto.getStartState().getTransitionsStream().findFirst().ifPresent(auto::removeTransition);
+        assertFalse(containsState(auto.getStartState().collectContingencies(), "B"));
+    }
+
+    @Test
+    public void collectContingencies_internalCycleWithoutIO_sink() {
+        final Automaton auto = new Automaton(null);
+        auto.addTransition('A', 'B');
+        auto.addTransition('A', 'C');
+        auto.addTransition('B', 'C');
+        auto.addTransition('C', 'A');
+        auto.addTransition('C', 'C');
+        auto.addTransition('C', 'D');
+        auto.addTransition('D', 'C');
+        final Set<State> contingencies = auto.getStartState().collectContingencies();
+        assertEquals(contingencies.size(), 1);
+        assertTrue(contingencies.iterator().next() instanceof SinkState);
+    }
+
+    @Test
+    public void collectContingencies_cycleWithWayToIO_noSink() {
+        final Automaton auto = new Automaton(null);
+        auto.addTransition('A', 'B');
+        auto.addTransition('B', 'A');
+        auto.addTransition("B", "C", "R1", Transition.EPSILON, Transition.EPSILON);
+        auto.addTransition('B', 'D');
+        auto.addTransition("D", "A", "W1", Transition.EPSILON, Transition.EPSILON);
+        final Set<State> contingencies = auto.getStartState().collectContingencies();
+        assertEquals(contingencies.size(), 2);
+        assertTrue(containsState(contingencies, "B"));
+        assertTrue(containsState(contingencies, "D"));
+    }
+
+    @Test
+    public void getRevision_transitionAdded_newestRevision() {
+        final Automaton auto = new Automaton(null);
+        auto.addTransition('A', 'B');
+        final State stateB = auto.getStartState().getTransitionsStream().findFirst().get().getTargetState();
+        assertEquals(stateB.getRevision(), 0L);
+        final long before = auto.getStartState().getRevision();
+        auto.addTransition('A', 'C');
+        assertTrue(auto.getStartState().getRevision() > before);
+        assertEquals(auto.getStartState().getRevision(), State.getLatestRevision());
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.StripedLongHashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class StripedLongHashSetTest {
+
+    @Test
+    public void add_duplicateValue_returnsFalse() {
+        final StripedLongHashSet set = new StripedLongHashSet();
+        assertTrue(set.add(42L));
+        assertFalse(set.add(42L));
+        assertTrue(set.contains(42L));
+        assertFalse(set.contains(43L));
+        assertEquals(set.size(), 1);
+    }
+
+    @Test
+    public void add_sameValuesFromManyThreads_eachAddedOnce() {
+        final StripedLongHashSet set = new StripedLongHashSet();
+        final AtomicInteger added = new AtomicInteger();
+        LongStream.range(0, 200_000).parallel().forEach((i) -> {
+            if (set.add((i % 50_000) << 20)) {
+                added.incrementAndGet();
+            }
+        });
+        assertEquals(added.get(), 50_000);
+        assertEquals(set.size(), 50_000);
+        for (long i = 0; i < 50_000; i++) {
+            assertTrue(set.contains(i << 20));
+        }
+    }
+
+    @Test
+    public void clear_afterAdding_emptyAndUsable() {
+        final StripedLongHashSet set = new StripedLongHashSet();
+        for (long i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        set.clear();
+        assertEquals(set.size(), 0);
+        assertFalse(set.contains(500L));
+        assertTrue(set.add(500L));
+        assertEquals(set.size(), 1);
+    }
+
+}
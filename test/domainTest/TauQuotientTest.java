@@ -0,0 +1,155 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.Automaton;
+import domain.AutomatonType;
+import domain.State;
+import domain.TauQuotient;
+import domain.Transition;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.TreeSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class TauQuotientTest {
+
+    private int countStates(Automaton automaton) {
+        int count = 0;
+        for (Iterator<?> it = automaton.getStates(); it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private State findState(Automaton automaton, String name) {
+        for (Iterator<State> it = automaton.getStates(); it.hasNext();) {
+            final State state = it.next();
+            if (state.getName().equals(name)) {
+                return state;
+            }
+        }
+        throw new AssertionError("No state " + name);
+    }
+
+    /**
+     * @return The names of the contingencies of the given State, sorted.
+     */
+    private Set<String> contingencyNames(State state) {
+        final Set<String> names = new TreeSet<>();
+        state.collectContingencies().forEach((contingency) -> names.add(contingency.getName()));
+        return names;
+    }
+
+    private void addIO(Automaton auto, String source, String target, String input) {
+        auto.addTransition(source, target, input, Transition.EPSILON, Transition.EPSILON);
+    }
+
+    @Test
+    public void quotient_internalChain_onlyIOStatesAndSinkKept() {
+        final Automaton auto = new Automaton("auto");
+        addIO(auto, "A", "B", "W1");
+        auto.addTransition('B', 'C');
+        auto.addTransition('C', 'D', 'x');
+        addIO(auto, "D", "E", "R2");
+        final Automaton quotient = TauQuotient.quotient(auto);
+        assertEquals(quotient.getName(), "auto_io");
+        assertEquals(countStates(quotient), 3);
+        assertFalse(quotient.containsState("B"));
+        assertFalse(quotient.containsState("C"));
+        assertEquals(contingencyNames(findState(quotient, "A").getTransitions().next().getTargetState()),
+                contingencyNames(findState(auto, "B")));
+        assertTrue(quotient.containsState("Sink"));
+    }
+
+    @Test
+    public void quotient_ioStateWithInternalMoves_sameContingencies() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "B", "W1");
+        auto.addTransition('A', 'C');
+        auto.addTransition('C', 'D');
+        auto.addTransition('C', 'E');
+        addIO(auto, "D", "A", "R1");
+        auto.addTransition('E', 'E');
+        final Automaton quotient = TauQuotient.quotient(auto);
+        final State copy = findState(quotient, "A");
+        assertEquals(contingencyNames(copy), contingencyNames(auto.getStartState()));
+        assertEquals(contingencyNames(copy).toString(), "[A, D, Sink]");
+        assertTrue(copy.hasNonIOTransitions());
+    }
+
+    @Test
+    public void quotient_internalMoveBackToItself_keepsInternalLoop() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "B", "R1");
+        auto.addTransition('A', 'C');
+        auto.addTransition('C', 'A');
+        addIO(auto, "B", "A", "W1");
+        final Automaton quotient = TauQuotient.quotient(auto);
+        final State copy = findState(quotient, "A");
+        assertEquals(contingencyNames(copy).toString(), "[A]");
+        assertTrue(copy.hasNonIOTransitions());
+        assertFalse(findState(quotient, "B").hasNonIOTransitions());
+    }
+
+    @Test
+    public void quotient_startWithoutIO_startLeadsToContingencies() {
+        final Automaton auto = new Automaton(null, new State("S"));
+        auto.addTransition('S', 'A');
+        auto.addTransition('S', 'B');
+        addIO(auto, "A", "A", "W1");
+        addIO(auto, "B", "B", "R1");
+        final Automaton quotient = TauQuotient.quotient(auto);
+        assertEquals(quotient.getStartState().getName(), "S");
+        assertFalse(quotient.getStartState().hasIOTransitions());
+        assertEquals(contingencyNames(quotient.getStartState()).toString(), "[A, B]");
+        assertEquals(countStates(quotient), 3);
+    }
+
+    @Test
+    public void quotient_stateNamedSink_sinkRenamed() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "Sink", "W1");
+        addIO(auto, "Sink", "B", "R1");
+        final Automaton quotient = TauQuotient.quotient(auto);
+        assertTrue(quotient.containsState("Sink"));
+        assertTrue(quotient.containsState("Sink'"));
+        assertFalse(quotient.containsState("B"));
+    }
+
+    @Test
+    public void quotient_twoPathsToSameContingency_oneTransition() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "B", "W1");
+        addIO(auto, "A", "C", "W1");
+        auto.addTransition('B', 'D');
+        auto.addTransition('C', 'D');
+        addIO(auto, "D", "A", "R1");
+        final Automaton quotient = TauQuotient.quotient(auto);
+        assertEquals(quotient.getStartState().getTransitionsStream().count(), 1L);
+        assertEquals(countStates(quotient), 2);
+        assertEquals(quotient.getTypeProperty().get(), AutomatonType.DIOA);
+    }
+
+    @Test
+    public void quotient_original_unchanged() {
+        final Automaton auto = new Automaton(null);
+        addIO(auto, "A", "B", "W1");
+        auto.addTransition('B', 'C');
+        TauQuotient.quotient(auto);
+        assertEquals(countStates(auto), 3);
+        assertTrue(findState(auto, "B").hasNonIOTransitions());
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Fontys Hogescholen ICT - Software Development
+ * Modelling with Automata in Professional Practice
+ * Project developer: Arjan Boschman
+ * Startdate: October 2014
+ */
+package domainTest;
+
+import domain.StateVector;
+import domain.VectorQueue;
+import java.util.NoSuchElementException;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ *
+ * @author Arjan
+ */
+public class VectorQueueTest {
+
+    private StateVector vector(int n) {
+        return new StateVector(n, n + 1, n + 2);
+    }
+
+    @Test
+    public void poll_afterAddingSeveral_firstInFirstOut() {
+        final VectorQueue queue = new VectorQueue(3);
+        queue.add(vector(0));
+        queue.add(vector(10));
+        assertEquals(queue.size(), 2);
+        assertEquals(queue.poll(), vector(0));
+        assertEquals(queue.poll(), vector(10));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void poll_addedAcrossWrapThenGrown_firstInFirstOut() {
+        final VectorQueue queue = new VectorQueue(3);
+        int added = 0;
+        int polled = 0;
+        for (; added < 10; added++) {
+            queue.add(vector(added));
+        }
+        for (; polled < 6; polled++) {
+            assertEquals(queue.poll(), vector(polled));
+        }
+        // The first capacity of 16 vectors is filled up past the end.
+        for (; added < 22; added++) {
+            queue.add(vector(added));
+        }
+        assertEquals(queue.size(), 16);
+        // The next one forces a grow while the vectors wrap around.
+        for (int round = 0; round < 10; round++) {
+            queue.add(vector(added++));
+            queue.add(vector(added++));
+            assertEquals(queue.poll(), vector(polled++));
+        }
+        assertEquals(queue.size(), 26);
+        while (!queue.isEmpty()) {
+            assertEquals(queue.poll(), vector(polled++));
+        }
+        assertEquals(polled, added);
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void poll_emptyQueue_throws() {
+        new VectorQueue(3).poll();
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void poll_allPolled_throws() {
+        final VectorQueue queue = new VectorQueue(3);
+        queue.add(vector(0));
+        queue.poll();
+        queue.poll();
+    }
+
+}